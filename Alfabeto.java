@@ -0,0 +1,142 @@
+package com.mycompany.proyecto1;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Alfabeto configurable para el tablero y el diccionario.
+ * Cada símbolo se remapea a un código denso pequeño (0 a size() - 1, a lo sumo 6 bits),
+ * de modo que los índices por letra, los arreglos de hijos y los caminos empaquetados
+ * tienen un tamaño fijo sin importar qué letras Unicode incluya el alfabeto.
+ */
+public class Alfabeto {
+
+    /** Máximo de símbolos: los códigos deben caber en 6 bits. */
+    public static final int MAX_SIMBOLOS = 64;
+
+    /** Letras A-Z. */
+    public static final Alfabeto LATINO = new Alfabeto("ABCDEFGHIJKLMNOPQRSTUVWXYZ");
+
+    /** Letras A-Z más Ñ, vocales acentuadas y Ü. */
+    public static final Alfabeto ESPANOL = new Alfabeto("ABCDEFGHIJKLMNÑOPQRSTUVWXYZÁÉÍÓÚÜ");
+
+    private final char[] symbols; // Símbolo de cada código
+    private final byte[] codes;   // Código de cada carácter (indexado por char); -1 si no pertenece
+
+    /**
+     * Constructor para un alfabeto.
+     * @param symbols Los símbolos del alfabeto, sin repetir, en el orden de sus códigos.
+     * @throws IllegalArgumentException Si hay símbolos repetidos o más de MAX_SIMBOLOS.
+     */
+    public Alfabeto(String symbols) {
+        if (symbols.length() > MAX_SIMBOLOS) {
+            throw new IllegalArgumentException("El alfabeto no puede tener más de " + MAX_SIMBOLOS + " símbolos.");
+        }
+        this.symbols = symbols.toCharArray();
+        this.codes = new byte[Character.MAX_VALUE + 1];
+        Arrays.fill(codes, (byte) -1);
+        for (int i = 0; i < this.symbols.length; i++) {
+            if (codes[this.symbols[i]] != -1) {
+                throw new IllegalArgumentException("Símbolo repetido en el alfabeto: " + this.symbols[i]);
+            }
+            codes[this.symbols[i]] = (byte) i;
+        }
+    }
+
+    /**
+     * Crea el alfabeto mínimo que contiene todas las letras de un tablero.
+     * @param board La matriz de caracteres del tablero.
+     * @return Un alfabeto con las letras distintas del tablero, en orden de aparición.
+     */
+    public static Alfabeto of(char[][] board) {
+        Set<Character> distinct = new LinkedHashSet<>();
+        for (char[] row : board) {
+            for (char c : row) {
+                distinct.add(c);
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (char c : distinct) {
+            sb.append(c);
+        }
+        return new Alfabeto(sb.toString());
+    }
+
+    /**
+     * Verifica si todas las letras de un tablero pertenecen al alfabeto.
+     * @param board La matriz de caracteres del tablero.
+     * @return true si el alfabeto cubre todo el tablero.
+     */
+    public boolean covers(char[][] board) {
+        for (char[] row : board) {
+            for (char c : row) {
+                if (!contains(c)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene el código denso de un símbolo.
+     * @param c El carácter.
+     * @return El código (0 a size() - 1), o -1 si no pertenece al alfabeto.
+     */
+    public int code(char c) {
+        return codes[c];
+    }
+
+    /**
+     * Obtiene el símbolo que corresponde a un código.
+     * @param code El código denso.
+     * @return El símbolo.
+     */
+    public char symbol(int code) {
+        return symbols[code];
+    }
+
+    /**
+     * Verifica si un carácter pertenece al alfabeto.
+     * @param c El carácter.
+     * @return true si pertenece.
+     */
+    public boolean contains(char c) {
+        return codes[c] >= 0;
+    }
+
+    /**
+     * Obtiene el número de símbolos del alfabeto.
+     * @return El tamaño del alfabeto.
+     */
+    public int size() {
+        return symbols.length;
+    }
+
+    /**
+     * Codifica una palabra con los códigos del alfabeto.
+     * @param word La palabra.
+     * @return Los códigos de cada letra, o null si alguna letra no pertenece al alfabeto.
+     */
+    public byte[] encode(String word) {
+        byte[] encoded = new byte[word.length()];
+        for (int i = 0; i < encoded.length; i++) {
+            int code = codes[word.charAt(i)];
+            if (code < 0) {
+                return null;
+            }
+            encoded[i] = (byte) code;
+        }
+        return encoded;
+    }
+
+    /**
+     * Devuelve los símbolos del alfabeto como cadena.
+     * @return Los símbolos en el orden de sus códigos.
+     */
+    @Override
+    public String toString() {
+        return new String(symbols);
+    }
+}
@@ -0,0 +1,103 @@
+package com.mycompany.proyecto1;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lectura de un archivo {@code <dic>}/{@code <tab>} fuera de la interfaz gráfica, para las
+ * herramientas de línea de comandos (coordinador, pruebas de carga, etc.).
+ * A diferencia de Buscador.parseFile, acepta tableros rectangulares de cualquier tamaño.
+ * Las palabras inválidas o repetidas se registran en un ReporteValidacion, igual que en Buscador.
+ */
+public class ArchivoSopa {
+
+    private final char[][] board;    // null si el archivo no tiene sección de tablero
+    private final List<String> words;
+
+    private ArchivoSopa(char[][] board, List<String> words) {
+        this.board = board;
+        this.words = words;
+    }
+
+    /**
+     * Lee un archivo de sopa de letras.
+     * @param file El archivo.
+     * @param alfabeto El alfabeto permitido en el tablero y el diccionario.
+     * @param minLength La longitud mínima de las palabras.
+     * @param reporte Reporte donde se registran los problemas encontrados.
+     * @return El tablero y las palabras válidas, o null si hubo un error que impide usar el archivo.
+     * @throws IOException Si ocurre un error de lectura.
+     */
+    public static ArchivoSopa leer(File file, Alfabeto alfabeto, int minLength, ReporteValidacion reporte) throws IOException {
+        IngestaDiccionario ingesta = new IngestaDiccionario(alfabeto, minLength, reporte);
+        List<char[]> rows = new ArrayList<>();
+        boolean inDictionarySection = false;
+        boolean inBoardSection = false;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8), 1 << 16)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmedLine = line.trim();
+                if (trimmedLine.equalsIgnoreCase("<dic>")) {
+                    inDictionarySection = true;
+                    inBoardSection = false;
+                } else if (trimmedLine.equalsIgnoreCase("</dic>")) {
+                    inDictionarySection = false;
+                } else if (trimmedLine.equalsIgnoreCase("<tab>")) {
+                    inBoardSection = true;
+                    inDictionarySection = false;
+                } else if (trimmedLine.equalsIgnoreCase("</tab>")) {
+                    inBoardSection = false;
+                } else if (inDictionarySection) {
+                    ingesta.accept(trimmedLine, lineNumber);
+                } else if (inBoardSection && !trimmedLine.isEmpty()) {
+                    char[] row = trimmedLine.replace(" ", "").toCharArray();
+                    for (char c : row) {
+                        if (!alfabeto.contains(c)) {
+                            reporte.addError("El tablero contiene caracteres fuera del alfabeto (línea " + lineNumber + ").");
+                            return null;
+                        }
+                    }
+                    if (!rows.isEmpty() && row.length != rows.get(0).length) {
+                        reporte.addError("Las líneas del tablero no tienen la misma longitud, línea " + lineNumber + ".");
+                        return null;
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        ingesta.finish();
+
+        if (rows.isEmpty()) {
+            reporte.addWarning("No se encontró la sección de tablero en el archivo.");
+        }
+        if (ingesta.getWords().isEmpty()) {
+            reporte.addWarning("No se encontró la sección de diccionario o está vacía.");
+        }
+        return new ArchivoSopa(rows.isEmpty() ? null : rows.toArray(new char[0][]), ingesta.getWords());
+    }
+
+    /**
+     * Obtiene el tablero del archivo.
+     * @return La matriz de caracteres, o null si el archivo no tiene tablero.
+     */
+    public char[][] getBoard() {
+        return board;
+    }
+
+    /**
+     * Obtiene las palabras válidas del diccionario.
+     * @return Las palabras, sin repetir, en el orden del archivo.
+     */
+    public List<String> getWords() {
+        return words;
+    }
+}
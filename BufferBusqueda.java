@@ -0,0 +1,161 @@
+package com.mycompany.proyecto1;
+
+import java.util.Arrays;
+
+/**
+ * Memoria de trabajo reutilizable para las búsquedas de Grafo.
+ * Cada hilo tiene su propio buffer (ver {@link #get()}), de modo que varias búsquedas
+ * concurrentes sobre el mismo Grafo no comparten estado ni reservan memoria en cada llamada.
+ */
+final class BufferBusqueda {
+
+    private static final ThreadLocal<BufferBusqueda> BUFFERS = ThreadLocal.withInitial(BufferBusqueda::new);
+
+    // Marcas de visitado por celda: una celda está visitada si su marca es igual a 'stamp'.
+    // Cambiar de marca en cada búsqueda evita tener que limpiar el arreglo.
+    int[] visited = new int[0];
+    int stamp = 0;
+
+    // Camino actual del DFS (celdas)
+    int[] path = new int[0];
+
+    // Arena del BFS: cada entrada es (celda, entrada padre, profundidad); la cola es el propio orden de la arena
+    int[] arenaCell = new int[64];
+    int[] arenaParent = new int[64];
+    int[] arenaDepth = new int[64];
+    int arenaSize = 0;
+
+    // Entradas de la arena agrupadas por celda (búsqueda bidireccional): primera entrada de cada
+    // celda y siguiente de cada entrada. La cabeza de una celda solo vale si su marca es 'bucketMark'.
+    int[] bucketHead = new int[0];
+    int[] bucketStamp = new int[0];
+    int[] bucketNext = new int[64];
+    int bucketMark = 0;
+
+    private BufferBusqueda() {
+    }
+
+    /**
+     * Obtiene el buffer del hilo actual.
+     * @return El buffer de este hilo.
+     */
+    static BufferBusqueda get() {
+        return BUFFERS.get();
+    }
+
+    /**
+     * Prepara el buffer para una nueva búsqueda sobre un tablero.
+     * @param cells Número de celdas del tablero.
+     * @param wordLength Longitud de la palabra buscada.
+     */
+    void begin(int cells, int wordLength) {
+        if (visited.length < cells) {
+            visited = new int[cells];
+            stamp = 0;
+        }
+        if (path.length < wordLength) {
+            path = new int[wordLength];
+        }
+        nextStamp();
+        arenaSize = 0;
+    }
+
+    /**
+     * Cambia a una marca nueva, lo que equivale a desmarcar todas las celdas visitadas.
+     */
+    void nextStamp() {
+        stamp++;
+        if (stamp == 0) { // Desbordamiento de la marca: limpiar y empezar de nuevo
+            Arrays.fill(visited, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Vacía los grupos de entradas por celda cambiando de marca, sin limpiar los arreglos.
+     * @param cells Número de celdas del tablero.
+     */
+    void beginBuckets(int cells) {
+        if (bucketHead.length < cells) {
+            bucketHead = new int[cells];
+            bucketStamp = new int[cells];
+            bucketMark = 0;
+        }
+        bucketMark++;
+        if (bucketMark == 0) { // Desbordamiento de la marca: limpiar y empezar de nuevo
+            Arrays.fill(bucketStamp, 0);
+            bucketMark = 1;
+        }
+    }
+
+    /**
+     * Obtiene la primera entrada del grupo de una celda.
+     * @param cell La celda.
+     * @return El índice de la entrada, o -1 si el grupo está vacío.
+     */
+    int bucketHead(int cell) {
+        return bucketStamp[cell] == bucketMark ? bucketHead[cell] : -1;
+    }
+
+    /**
+     * Añade una entrada de la arena al grupo de su celda.
+     * @param entry El índice de la entrada.
+     */
+    void addToBucket(int entry) {
+        if (bucketNext.length < arenaCell.length) {
+            bucketNext = Arrays.copyOf(bucketNext, arenaCell.length);
+        }
+        int cell = arenaCell[entry];
+        bucketNext[entry] = bucketHead(cell);
+        bucketHead[cell] = entry;
+        bucketStamp[cell] = bucketMark;
+    }
+
+    /**
+     * Añade una entrada a la arena del BFS.
+     * @param cell La celda.
+     * @param parent El índice de la entrada padre, o -1 si es la raíz.
+     * @param depth La longitud del camino hasta esta entrada.
+     * @return El índice de la nueva entrada.
+     */
+    int addEntry(int cell, int parent, int depth) {
+        if (arenaSize == arenaCell.length) {
+            int capacity = arenaSize * 2;
+            arenaCell = Arrays.copyOf(arenaCell, capacity);
+            arenaParent = Arrays.copyOf(arenaParent, capacity);
+            arenaDepth = Arrays.copyOf(arenaDepth, capacity);
+        }
+        arenaCell[arenaSize] = cell;
+        arenaParent[arenaSize] = parent;
+        arenaDepth[arenaSize] = depth;
+        return arenaSize++;
+    }
+
+    /**
+     * Verifica si una celda ya está en el camino que termina en una entrada de la arena.
+     * @param entry La entrada final del camino.
+     * @param cell La celda a buscar.
+     * @return true si la celda forma parte del camino.
+     */
+    boolean onPath(int entry, int cell) {
+        for (int e = entry; e >= 0; e = arenaParent[e]) {
+            if (arenaCell[e] == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reconstruye las celdas del camino que termina en una entrada de la arena.
+     * @param entry La entrada final del camino.
+     * @return Las celdas del camino en orden de recorrido.
+     */
+    int[] pathTo(int entry) {
+        int[] cells = new int[arenaDepth[entry]];
+        for (int e = entry, i = cells.length - 1; e >= 0; e = arenaParent[e], i--) {
+            cells[i] = arenaCell[e];
+        }
+        return cells;
+    }
+}
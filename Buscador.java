@@ -1,24 +1,41 @@
 package com.mycompany.proyecto1;
 
 import javax.swing.*;
+import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 
 public class Buscador extends JFrame {
 
     private char[][] board;
     private List<String> dictionary;
+    private TrieDiccionario dictionaryTrie; // Las mismas palabras del diccionario, para consultas por palabra o prefijo
     private Grafo wordSearchGrafo;
+    private BusquedaIncremental busquedaIncremental; // Búsqueda por prefijo mientras se escribe
+    private SolucionDiccionario solucionDiccionario; // Resultados del diccionario e índice celda -> palabras
+    private final CacheResultados cacheResultados = CacheResultados.porDefecto(); // Resultados de ejecuciones anteriores
 
     // Componentes de la GUI
     private JTextArea boardDisplayArea;
-    private JTextArea dictionaryDisplayArea;
-    private JTextArea resultsDisplayArea;
+    private JList<String> dictionaryList;          // Solo dibuja las palabras visibles del diccionario
+    private ModeloDiccionario dictionaryModel;
+    private JTable resultsTable;                    // Resultados del diccionario, con orden y filtros
+    private ModeloResultados resultsModel;
+    private TableRowSorter<ModeloResultados> resultsSorter;
+    private JComboBox<String> resultsStatusFilter;  // Todas / Encontradas / No encontradas
+    private JSpinner resultsMinLengthFilter;        // Longitud mínima de las palabras mostradas
+    private JTextArea resultsDisplayArea;           // Mensajes y resultado de la palabra específica
     private JButton loadFileButton;
     private JTextField specificWordTextField;
     private JButton searchSpecificWordButton;
+    private JCheckBox patternDictionaryOnlyCheckBox; // Patrones: solo devolver palabras del diccionario
+    private JCheckBox heatmapCheckBox;               // Dibujar el esfuerzo de la búsqueda específica por celda
+    private JButton topWordsButton; // Mejores palabras del tablero según la puntuación del juego
     private JButton exitButton; // Botón para salir
 
     private PanelBFST panelBFST; // Panel de visualización BFS
@@ -36,11 +53,21 @@ public class Buscador extends JFrame {
     private String selectedSearchAlgorithm = "DFS"; // Valor por defecto
 
     private final int MIN_WORD_LENGTH = 3; // Mínimo de caracteres para las palabras
+    // Alfabeto aceptado en tablero y diccionario; se puede cambiar con -Dsopa.alfabeto=SIMBOLOS
+    private final Alfabeto alfabeto = new Alfabeto(System.getProperty("sopa.alfabeto", Alfabeto.ESPANOL.toString()));
+    private final long SEARCH_TIMEOUT_MS = 2000; // Tiempo máximo por palabra buscada
+    private final long SEARCH_MAX_EXPANSIONS = 5_000_000; // Máximo de nodos expandidos por palabra buscada
+    private final long INCREMENTAL_TIMEOUT_MS = 100; // Tiempo máximo por letra escrita (corre en el EDT)
+    private final long INCREMENTAL_MAX_EXPANSIONS = 100_000; // Máximo de caminos nuevos por letra escrita
+    private final int MAX_PATTERN_LENGTH = 16; // Longitud máxima de las palabras de un patrón con '*'
+    private final int MAX_PATTERN_RESULTS = 200; // Máximo de palabras mostradas para un patrón
+    private final int TOP_WORDS = 10; // Número de mejores palabras mostradas
 
     public Buscador() {
         super("Sopa de Letras - Buscador");
         this.board = null;
         this.dictionary = new ArrayList<>();
+        this.dictionaryTrie = new TrieDiccionario(alfabeto);
 
         initComponents();
         setupLayout();
@@ -58,13 +85,24 @@ public class Buscador extends JFrame {
         boardDisplayArea.setFont(new Font("Monospaced", Font.PLAIN, 18));
         boardDisplayArea.setBorder(BorderFactory.createTitledBorder("Tablero"));
 
-        dictionaryDisplayArea = new JTextArea(10, 15);
-        dictionaryDisplayArea.setEditable(false);
-        dictionaryDisplayArea.setBorder(BorderFactory.createTitledBorder("Diccionario Cargado"));
+        dictionaryModel = new ModeloDiccionario(dictionary);
+        dictionaryList = new JList<>(dictionaryModel);
+        dictionaryList.setVisibleRowCount(10);
+        dictionaryList.setPrototypeCellValue("PALABRAPROTOTIPO"); // Altura fija de fila: no se mide cada palabra
+        dictionaryList.setBorder(BorderFactory.createTitledBorder("Diccionario Cargado"));
 
-        resultsDisplayArea = new JTextArea(10, 30);
+        resultsModel = new ModeloResultados();
+        resultsTable = new JTable(resultsModel);
+        resultsSorter = new TableRowSorter<>(resultsModel); // Ordena y filtra índices de fila, sin copiar datos
+        resultsTable.setRowSorter(resultsSorter);
+        resultsTable.setPreferredScrollableViewportSize(new Dimension(300, 200));
+
+        resultsStatusFilter = new JComboBox<>(new String[]{"Todas", "Encontradas", "No encontradas"});
+        resultsMinLengthFilter = new JSpinner(new SpinnerNumberModel(MIN_WORD_LENGTH, MIN_WORD_LENGTH, 100, 1));
+
+        resultsDisplayArea = new JTextArea(6, 30);
         resultsDisplayArea.setEditable(false);
-        resultsDisplayArea.setBorder(BorderFactory.createTitledBorder("Resultados de Búsqueda"));
+        resultsDisplayArea.setBorder(BorderFactory.createTitledBorder("Mensajes"));
 
         loadFileButton = new JButton("Cargar Archivo TXT");
 
@@ -72,6 +110,12 @@ public class Buscador extends JFrame {
         specificWordTextField.setBorder(BorderFactory.createTitledBorder("Buscar Palabra Específica"));
 
         searchSpecificWordButton = new JButton("Buscar");
+        patternDictionaryOnlyCheckBox = new JCheckBox("Patrón: solo diccionario", true);
+        patternDictionaryOnlyCheckBox.setToolTipText("Con '?' (una letra) o '*' final (cualquier sufijo), mostrar solo palabras del diccionario");
+        heatmapCheckBox = new JCheckBox("Mapa de calor");
+        heatmapCheckBox.setToolTipText("Colorear cada celda según cuántas veces la expandió la búsqueda específica (expansiones/retrocesos)");
+        topWordsButton = new JButton("Mejores " + TOP_WORDS);
+        topWordsButton.setToolTipText("Mostrar las palabras del diccionario con mayor puntaje (longitud y rareza de las letras)");
         exitButton = new JButton("Salir del Programa"); // Nuevo botón de salir
 
         panelBFST = new PanelBFST(); // Instancia del PanelBFST
@@ -103,6 +147,9 @@ public class Buscador extends JFrame {
         topPanel.add(loadFileButton);
         topPanel.add(specificWordTextField);
         topPanel.add(searchSpecificWordButton);
+        topPanel.add(patternDictionaryOnlyCheckBox);
+        topPanel.add(heatmapCheckBox);
+        topPanel.add(topWordsButton);
         topPanel.add(exitButton); // Añadir botón de salir al panel superior
         mainPanel.add(topPanel, BorderLayout.NORTH);
 
@@ -111,7 +158,7 @@ public class Buscador extends JFrame {
 
         // Panel para el diccionario y controles de gestión
         JPanel dictionaryPanel = new JPanel(new BorderLayout());
-        dictionaryPanel.add(new JScrollPane(dictionaryDisplayArea), BorderLayout.CENTER);
+        dictionaryPanel.add(new JScrollPane(dictionaryList), BorderLayout.CENTER);
 
         JPanel dictionaryControlsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 5));
         dictionaryControlsPanel.setBorder(BorderFactory.createTitledBorder("Gestionar Diccionario"));
@@ -137,36 +184,60 @@ public class Buscador extends JFrame {
         searchAlgorithmPanel.add(dfsRadioButton);
         searchAlgorithmPanel.add(bfsRadioButton);
 
+        // Tabla de resultados con sus filtros
+        JPanel resultsPanel = new JPanel(new BorderLayout());
+        resultsPanel.setBorder(BorderFactory.createTitledBorder("Resultados de Búsqueda"));
+        JPanel resultsFilterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        resultsFilterPanel.add(resultsStatusFilter);
+        resultsFilterPanel.add(new JLabel("Long. mín.:"));
+        resultsFilterPanel.add(resultsMinLengthFilter);
+        resultsPanel.add(resultsFilterPanel, BorderLayout.NORTH);
+        resultsPanel.add(new JScrollPane(resultsTable), BorderLayout.CENTER);
+        resultsPanel.add(new JScrollPane(resultsDisplayArea), BorderLayout.SOUTH);
+
         rightPanel.add(searchAlgorithmPanel, BorderLayout.NORTH); // Selección de algoritmo al norte del panel derecho
-        rightPanel.add(new JScrollPane(resultsDisplayArea), BorderLayout.CENTER); // Resultados en el centro
+        rightPanel.add(resultsPanel, BorderLayout.CENTER); // Resultados en el centro
         mainPanel.add(rightPanel, BorderLayout.EAST);
 
         add(mainPanel);
     }
 
     private void setupListeners() {
-        loadFileButton.addActionListener(e -> {
-            if (loadAndProcessFile()) {
-                displayBoard();
-                displayDictionary();
-                panelBFST.setBoard(board);
-                resultsDisplayArea.setText("Archivo cargado correctamente.\nIniciando búsqueda de palabras del diccionario...\n");
-                searchAllDictionaryWords(); // Ejecuta la búsqueda inicial del diccionario
-            } else {
-                resultsDisplayArea.setText("Error al cargar o procesar el archivo.");
-            }
-        });
+        loadFileButton.addActionListener(e -> loadAndProcessFile());
 
         searchSpecificWordButton.addActionListener(e -> {
             searchSpecificWord();
         });
 
+        // Búsqueda incremental mientras se escribe en el campo de palabra específica
+        specificWordTextField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                searchIncrementalPrefix();
+            }
+
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                searchIncrementalPrefix();
+            }
+
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+                searchIncrementalPrefix();
+            }
+        });
+
         // Listeners para los nuevos botones de gestión del diccionario
         addWordButton.addActionListener(e -> addWordToDictionary());
         removeWordButton.addActionListener(e -> removeWordFromDictionary());
         saveDictionaryButton.addActionListener(e -> saveDictionaryToFile());
+        topWordsButton.addActionListener(e -> showTopWords());
         exitButton.addActionListener(e -> System.exit(0)); // Listener para el botón de salir
 
+        // Filtros de la tabla de resultados
+        resultsStatusFilter.addActionListener(e -> applyResultsFilter());
+        resultsMinLengthFilter.addChangeListener(e -> applyResultsFilter());
+
         // Listeners para los Radio Buttons del algoritmo de búsqueda
         dfsRadioButton.addActionListener(e -> selectedSearchAlgorithm = "DFS");
         bfsRadioButton.addActionListener(e -> selectedSearchAlgorithm = "BFS");
@@ -188,15 +259,32 @@ public class Buscador extends JFrame {
     }
 
     private void displayDictionary() {
-        if (dictionary != null && !dictionary.isEmpty()) {
-            StringBuilder sb = new StringBuilder();
-            for (String word : dictionary) {
-                sb.append(word).append("\n");
+        // El JList lee directamente de la lista; basta con notificar que cambió
+        dictionaryModel.reloaded();
+    }
+
+    // Aplica los filtros de estado y longitud mínima sobre la tabla de resultados
+    private void applyResultsFilter() {
+        String status = (String) resultsStatusFilter.getSelectedItem();
+        int minLength = (Integer) resultsMinLengthFilter.getValue();
+        resultsSorter.setRowFilter(new RowFilter<ModeloResultados, Integer>() {
+            @Override
+            public boolean include(Entry<? extends ModeloResultados, ? extends Integer> entry) {
+                int row = entry.getIdentifier();
+                ModeloResultados model = entry.getModel();
+                if ((Integer) model.getValueAt(row, ModeloResultados.COLUMNA_LONGITUD) < minLength) {
+                    return false;
+                }
+                boolean found = model.getEstado(row) == EstadoBusqueda.FOUND;
+                if ("Encontradas".equals(status)) {
+                    return found;
+                }
+                if ("No encontradas".equals(status)) {
+                    return !found;
+                }
+                return true;
             }
-            dictionaryDisplayArea.setText(sb.toString());
-        } else {
-            dictionaryDisplayArea.setText("Diccionario no cargado.");
-        }
+        });
     }
 
     // Método que busca todas las palabras del diccionario usando el algoritmo seleccionado
@@ -207,20 +295,76 @@ public class Buscador extends JFrame {
         }
 
         resultsDisplayArea.append("Resultados del diccionario (usando " + selectedSearchAlgorithm + "):\n");
-        for (String word : dictionary) {
-            List<Node> foundPath;
-            if (selectedSearchAlgorithm.equals("DFS")) {
-                foundPath = wordSearchGrafo.searchWordDFS(word);
-            } else { // BFS
-                foundPath = wordSearchGrafo.searchWordBFS(word); // Usar el nuevo método BFS sin visualización
+        boolean useBfs = selectedSearchAlgorithm.equals("BFS");
+        Supplier<LimiteBusqueda> limites = () -> new LimiteBusqueda(SEARCH_TIMEOUT_MS, SEARCH_MAX_EXPANSIONS);
+        Grafo grafo = wordSearchGrafo;
+        List<String> words = new ArrayList<>(dictionary); // Copia: el diccionario puede crecer mientras se busca
+
+        // La caché (lectura y escritura en disco) y la búsqueda corren fuera del hilo de la interfaz
+        new SwingWorker<SolucionDiccionario, Void>() {
+            private final StringBuilder log = new StringBuilder(); // Avisos para mostrar al terminar
+
+            @Override
+            protected SolucionDiccionario doInBackground() {
+                // Si este tablero y diccionario ya se resolvieron antes, se usan los resultados guardados
+                String cacheKey = CacheResultados.key(grafo, CacheResultados.dictionaryVersion(words), useBfs);
+                ResultadoFragmento cached = null;
+                try {
+                    cached = cacheResultados.load(cacheKey, words, grafo.getRows() * grafo.getCols());
+                } catch (IOException ex) {
+                    log.append("  No se pudo leer la caché de resultados: " + ex.getMessage() + "\n");
+                }
+
+                // La solución del diccionario también construye el índice celda -> palabras para el hover del PanelBFST
+                if (cached != null) {
+                    log.append("  Resultados recuperados de la caché (sin volver a buscar).\n");
+                    return new SolucionDiccionario(grafo, words, useBfs, limites, cached);
+                }
+                SolucionDiccionario solucion = new SolucionDiccionario(grafo, words, useBfs, limites);
+                try {
+                    cacheResultados.store(cacheKey, solucion);
+                } catch (IOException ex) {
+                    log.append("  No se pudo guardar en la caché de resultados: " + ex.getMessage() + "\n");
+                }
+                return solucion;
             }
 
-            if (!foundPath.isEmpty()) {
-                resultsDisplayArea.append("  ENCONTRADA: '" + word + "'\n");
-            } else {
-                resultsDisplayArea.append("  NO ENCONTRADA: '" + word + "'\n");
+            @Override
+            protected void done() {
+                if (grafo != wordSearchGrafo) {
+                    return; // Se cargó otro tablero mientras se buscaba
+                }
+                try {
+                    solucionDiccionario = get();
+                } catch (InterruptedException | ExecutionException ex) {
+                    resultsDisplayArea.append(log + "  Error al buscar las palabras del diccionario: " + ex.getMessage() + "\n");
+                    return;
+                }
+                resultsDisplayArea.append(log.toString());
+                resultsModel.setSolucion(solucionDiccionario); // Una sola notificación para todas las filas
+                resultsDisplayArea.append("  " + solucionDiccionario.size() + " palabras procesadas; ver la tabla de resultados.\n");
+                panelBFST.setSolucionDiccionario(solucionDiccionario);
+            }
+        }.execute();
+    }
+
+    // Actualiza el resaltado del PanelBFST con el prefijo escrito hasta ahora
+    private void searchIncrementalPrefix() {
+        if (busquedaIncremental == null) {
+            return;
+        }
+        String prefix = specificWordTextField.getText().trim().toUpperCase();
+        if (ConsultaPatron.isPattern(prefix)) {
+            // En un patrón solo se resalta la parte literal antes del primer comodín
+            int wildcard = 0;
+            while (prefix.charAt(wildcard) != ConsultaPatron.CUALQUIERA && prefix.charAt(wildcard) != ConsultaPatron.SUFIJO) {
+                wildcard++;
             }
+            prefix = prefix.substring(0, wildcard);
         }
+        busquedaIncremental.update(prefix);
+        panelBFST.setMapaCalor(null); // El mapa de la búsqueda anterior ya no corresponde a lo escrito
+        panelBFST.setBFSResult(busquedaIncremental.toResultado());
     }
 
     private void searchSpecificWord() {
@@ -231,9 +375,13 @@ public class Buscador extends JFrame {
             JOptionPane.showMessageDialog(this, "Por favor, ingresa una palabra para buscar.", "Advertencia", JOptionPane.WARNING_MESSAGE);
             return;
         }
+        if (ConsultaPatron.isPattern(word)) {
+            searchPattern(word);
+            return;
+        }
         if (!isValidWord(word)) {
             JOptionPane.showMessageDialog(this,
-                "La palabra '" + word + "' no es válida. Debe contener al menos " + MIN_WORD_LENGTH + " letras y solo caracteres alfabéticos (A-Z).",
+                "La palabra '" + word + "' no es válida. Debe contener al menos " + MIN_WORD_LENGTH + " letras y solo caracteres del alfabeto (" + alfabeto + ").",
                 "Error de Validación", JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -245,7 +393,10 @@ public class Buscador extends JFrame {
 
         resultsDisplayArea.setText("Buscando palabra específica: '" + word + "'\n");
         // La búsqueda específica SIEMPRE usa BFS para la visualización en el PanelBFST
-        ResultadoBFS resultadoBFS = wordSearchGrafo.searchWordBFSForVisualization(word);
+        MapaCalor mapaCalor = heatmapCheckBox.isSelected()
+                ? new MapaCalor(wordSearchGrafo.getRows() * wordSearchGrafo.getCols()) : null;
+        ResultadoBFS resultadoBFS = wordSearchGrafo.searchWordBFSForVisualization(word,
+                new LimiteBusqueda(SEARCH_TIMEOUT_MS, SEARCH_MAX_EXPANSIONS), mapaCalor);
 
         if (resultadoBFS.isPathFound()) {
             resultsDisplayArea.append("  ENCONTRADA: '" + word + "' en ");
@@ -255,22 +406,90 @@ public class Buscador extends JFrame {
             resultsDisplayArea.append("\n");
 
             // Si la palabra es encontrada, añadirla automáticamente al diccionario
-            if (!dictionary.contains(word)) {
+            if (dictionaryTrie.add(word)) {
                 dictionary.add(word);
-                displayDictionary(); // Actualiza la visualización
+                dictionaryModel.wordAdded(); // Actualiza la visualización
                 resultsDisplayArea.append("  Palabra '" + word + "' añadida automáticamente al diccionario.\n");
             }
 
+        } else if (resultadoBFS.getEstado() != EstadoBusqueda.NOT_FOUND) {
+            resultsDisplayArea.append("  " + ModeloResultados.describeEstado(resultadoBFS.getEstado()) + ": '" + word + "'. La búsqueda se abandonó antes de terminar.\n");
         } else {
             resultsDisplayArea.append("  NO ENCONTRADA: '" + word + "'. No se pudo construir un camino válido con las letras adyacentes y no repetidas.\n");
         }
 
+        if (mapaCalor != null) {
+            resultsDisplayArea.append("  Esfuerzo: " + mapaCalor.getTotalVisits() + " expansiones, "
+                    + mapaCalor.getTotalBacktracks() + " retrocesos.\n");
+        }
         panelBFST.setBFSResult(resultadoBFS); // Actualizar el panel de visualización
+        panelBFST.setMapaCalor(mapaCalor);
+    }
+
+    // Muestra las palabras del diccionario con mayor puntaje, sin resolver todo el diccionario
+    private void showTopWords() {
+        if (wordSearchGrafo == null) {
+            JOptionPane.showMessageDialog(this, "Por favor, carga un archivo primero para inicializar el tablero.", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        LimiteBusqueda limite = new LimiteBusqueda(SEARCH_TIMEOUT_MS, SEARCH_MAX_EXPANSIONS);
+        TopKPalabras topK = new TopKPalabras(wordSearchGrafo, dictionaryTrie, Puntuacion.porRareza(alfabeto));
+        List<PalabraPuntuada> top = topK.solve(TOP_WORDS, limite);
+
+        resultsDisplayArea.setText("Mejores " + TOP_WORDS + " palabras del tablero:\n");
+        for (PalabraPuntuada palabra : top) {
+            resultsDisplayArea.append("  " + palabra.getScore() + "  " + palabra.getWord() + " en ");
+            for (Node n : wordSearchGrafo.decodePath(palabra.getPath())) {
+                resultsDisplayArea.append("(" + n.getRow() + "," + n.getCol() + ") ");
+            }
+            resultsDisplayArea.append("\n");
+        }
+        if (limite.isAgotado()) {
+            resultsDisplayArea.append("  " + ModeloResultados.describeEstado(limite.getEstadoAgotado()) + ": puede haber palabras mejores sin revisar.\n");
+        }
+        resultsDisplayArea.append("  " + top.size() + " palabras, " + limite.getExpansions() + " expansiones.\n");
     }
 
-    // Método de utilidad para validar si un carácter es una letra mayúscula (A-Z)
+    // Busca las palabras del tablero que cumplen un patrón con '?' y/o '*' final
+    private void searchPattern(String pattern) {
+        String error = ConsultaPatron.validate(pattern, alfabeto);
+        if (error != null) {
+            JOptionPane.showMessageDialog(this, "El patrón '" + pattern + "' no es válido. " + error, "Error de Validación", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (wordSearchGrafo == null) {
+            JOptionPane.showMessageDialog(this, "Por favor, carga un archivo primero para inicializar el tablero.", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        TrieDiccionario trie = patternDictionaryOnlyCheckBox.isSelected() ? dictionaryTrie : null;
+        LimiteBusqueda limite = new LimiteBusqueda(SEARCH_TIMEOUT_MS, SEARCH_MAX_EXPANSIONS);
+        resultsDisplayArea.setText("Buscando patrón: '" + pattern + "'" + (trie != null ? " (solo diccionario)" : "") + "\n");
+
+        // Las coincidencias se producen a medida que se encuentran; se detiene al llegar al máximo
+        int[] shown = {0};
+        wordSearchGrafo.streamPattern(pattern, MAX_PATTERN_LENGTH, trie, limite, false)
+                .limit(MAX_PATTERN_RESULTS)
+                .forEach(match -> {
+                    shown[0]++;
+                    resultsDisplayArea.append("  " + match.getWord() + " en ");
+                    for (Node n : wordSearchGrafo.decodePath(match.getPath())) {
+                        resultsDisplayArea.append("(" + n.getRow() + "," + n.getCol() + ") ");
+                    }
+                    resultsDisplayArea.append("\n");
+                });
+
+        if (limite.isAgotado()) {
+            resultsDisplayArea.append("  " + ModeloResultados.describeEstado(limite.getEstadoAgotado()) + ": la lista puede estar incompleta.\n");
+        } else if (shown[0] == MAX_PATTERN_RESULTS) {
+            resultsDisplayArea.append("  Se muestran solo las primeras " + MAX_PATTERN_RESULTS + " palabras.\n");
+        }
+        resultsDisplayArea.append("  " + shown[0] + " palabras mostradas.\n");
+    }
+
+    // Método de utilidad para validar si un carácter es una letra del alfabeto configurado (A-Z, Ñ, vocales acentuadas)
     private boolean isValidLetter(char c) {
-        return (c >= 'A' && c <= 'Z');
+        return alfabeto.contains(c);
     }
 
     // Método de utilidad para validar una palabra (longitud mínima y solo letras)
@@ -296,14 +515,14 @@ public class Buscador extends JFrame {
         // Validar la palabra antes de añadirla
         if (!isValidWord(word)) {
             JOptionPane.showMessageDialog(this,
-                "La palabra '" + word + "' no es válida. Debe contener al menos " + MIN_WORD_LENGTH + " letras y solo caracteres alfabéticos (A-Z).",
+                "La palabra '" + word + "' no es válida. Debe contener al menos " + MIN_WORD_LENGTH + " letras y solo caracteres del alfabeto (" + alfabeto + ").",
                 "Error de Validación", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
-        if (!dictionary.contains(word)) {
+        if (dictionaryTrie.add(word)) {
             dictionary.add(word);
-            displayDictionary(); // Actualiza la visualización del diccionario
+            dictionaryModel.wordAdded(); // Actualiza la visualización del diccionario
             newWordTextField.setText(""); // Limpia el campo de texto
             resultsDisplayArea.append("Palabra '" + word + "' añadida al diccionario.\n");
         } else {
@@ -317,8 +536,10 @@ public class Buscador extends JFrame {
             JOptionPane.showMessageDialog(this, "Por favor, introduce una palabra para eliminar.", "Advertencia", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        if (dictionary.remove(word)) { // remove() devuelve true si la palabra fue eliminada
-            displayDictionary(); // Actualiza la visualización del diccionario
+        if (dictionaryTrie.remove(word)) {
+            int index = dictionary.indexOf(word);
+            dictionary.remove(index);
+            dictionaryModel.wordRemoved(index); // Actualiza la visualización del diccionario
             newWordTextField.setText(""); // Limpia el campo de texto
             resultsDisplayArea.append("Palabra '" + word + "' eliminada del diccionario.\n");
         } else {
@@ -340,7 +561,7 @@ public class Buscador extends JFrame {
 
         if (userSelection == JFileChooser.APPROVE_OPTION) {
             File fileToSave = fileChooser.getSelectedFile();
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileToSave))) {
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fileToSave), StandardCharsets.UTF_8))) {
                 for (String word : dictionary) {
                     writer.write(word);
                     writer.newLine(); // Escribe cada palabra en una nueva línea
@@ -356,35 +577,101 @@ public class Buscador extends JFrame {
         }
     }
 
-    // Método para cargar y procesar el archivo, con las correcciones y validaciones para el tablero
-    public boolean loadAndProcessFile() {
+    // Método para cargar y procesar el archivo. La lectura y validación se hacen en segundo plano
+    // para no bloquear la interfaz; al terminar se muestra un único resumen de problemas.
+    public void loadAndProcessFile() {
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Selecciona el archivo de la sopa de letras (.txt)");
         int userSelection = fileChooser.showOpenDialog(this);
 
-        if (userSelection == JFileChooser.APPROVE_OPTION) {
-            File selectedFile = fileChooser.getSelectedFile();
-            boolean success = parseFile(selectedFile);
-            if(success && board != null) {
-                this.wordSearchGrafo = new Grafo(this.board);
-            } else {
-                this.wordSearchGrafo = null;
+        if (userSelection != JFileChooser.APPROVE_OPTION) {
+            resultsDisplayArea.setText("Error al cargar o procesar el archivo.");
+            return;
+        }
+
+        File selectedFile = fileChooser.getSelectedFile();
+        ReporteValidacion reporte = new ReporteValidacion();
+        IngestaDiccionario ingesta = new IngestaDiccionario(alfabeto, MIN_WORD_LENGTH, reporte);
+        loadFileButton.setEnabled(false);
+        resultsDisplayArea.setText("Cargando '" + selectedFile.getName() + "'...\n");
+
+        new SwingWorker<char[][], Void>() {
+            @Override
+            protected char[][] doInBackground() {
+                return parseFile(selectedFile, ingesta, reporte);
             }
-            return success;
+
+            @Override
+            protected void done() {
+                loadFileButton.setEnabled(true);
+                char[][] loadedBoard = null;
+                try {
+                    loadedBoard = get();
+                } catch (InterruptedException | ExecutionException ex) {
+                    reporte.addError("Error al leer el archivo:\n" + ex.getMessage());
+                }
+                onFileLoaded(loadedBoard, ingesta, reporte);
+            }
+        }.execute();
+    }
+
+    // Aplica el resultado de la carga (en el hilo de la interfaz) y muestra el resumen de problemas
+    private void onFileLoaded(char[][] loadedBoard, IngestaDiccionario ingesta, ReporteValidacion reporte) {
+        boolean success = !reporte.hasErrors();
+        board = success ? loadedBoard : null;
+        dictionary.clear();
+        if (success) {
+            dictionary.addAll(ingesta.getWords());
+            dictionaryTrie = ingesta.getTrie();
         } else {
-            return false;
+            dictionaryTrie = new TrieDiccionario(alfabeto);
+        }
+        if (board != null) {
+            this.wordSearchGrafo = new Grafo(this.board, alfabeto);
+            this.busquedaIncremental = new BusquedaIncremental(this.wordSearchGrafo,
+                    () -> new LimiteBusqueda(INCREMENTAL_TIMEOUT_MS, INCREMENTAL_MAX_EXPANSIONS));
+        } else {
+            this.wordSearchGrafo = null;
+            this.busquedaIncremental = null;
+        }
+
+        if (!reporte.isEmpty()) {
+            showValidationReport(reporte);
+        }
+
+        if (success) {
+            displayBoard();
+            displayDictionary();
+            panelBFST.setBoard(board);
+            resultsDisplayArea.setText("Archivo cargado correctamente (" + dictionary.size() + " palabras, "
+                    + reporte.getTotalProblems() + " ignoradas).\nIniciando búsqueda de palabras del diccionario...\n");
+            searchAllDictionaryWords(); // Ejecuta la búsqueda inicial del diccionario
+        } else {
+            displayDictionary();
+            resultsDisplayArea.setText("Error al cargar o procesar el archivo.");
         }
     }
 
-    private boolean parseFile(File file) {
-        this.dictionary.clear(); // Limpiar el diccionario existente antes de cargar uno nuevo
+    // Muestra todos los problemas de la carga en un solo diálogo desplazable
+    private void showValidationReport(ReporteValidacion reporte) {
+        JTextArea reportArea = new JTextArea(reporte.toString(), 15, 50);
+        reportArea.setEditable(false);
+        JOptionPane.showMessageDialog(this, new JScrollPane(reportArea), "Resumen de la Carga",
+                reporte.hasErrors() ? JOptionPane.ERROR_MESSAGE : JOptionPane.WARNING_MESSAGE);
+    }
+
+    // Lee el archivo sin tocar la interfaz: las palabras van a la ingesta y los problemas al reporte.
+    // Devuelve el tablero leído, o null si no hay sección de tablero o hubo un error.
+    private char[][] parseFile(File file, IngestaDiccionario ingesta, ReporteValidacion reporte) {
         boolean inDictionarySection = false;
         boolean inBoardSection = false;
         List<String> boardLinesRaw = new ArrayList<>(); // Almacenará las líneas tal como se leen (con o sin espacios)
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
             String line;
+            int lineNumber = 0;
             while ((line = reader.readLine()) != null) {
+                lineNumber++;
                 String trimmedLine = line.trim();
 
                 // Manejo de las etiquetas de sección
@@ -405,16 +692,8 @@ public class Buscador extends JFrame {
                 }
 
                 if (inDictionarySection) {
-                    if (!trimmedLine.isEmpty()) {
-                        // Validar palabras del diccionario cargado
-                        if (!isValidWord(trimmedLine)) {
-                            JOptionPane.showMessageDialog(this,
-                                "Advertencia: La palabra '" + trimmedLine + "' en el diccionario no es válida (mín. " + MIN_WORD_LENGTH + " letras, solo alfabéticas). Será ignorada.",
-                                "Formato de Diccionario", JOptionPane.WARNING_MESSAGE);
-                        } else {
-                            dictionary.add(trimmedLine);
-                        }
-                    }
+                    // La ingesta valida por bloques y registra las palabras inválidas en el reporte
+                    ingesta.accept(trimmedLine, lineNumber);
                 } else if (inBoardSection) {
                     if (!trimmedLine.isEmpty()) {
                         String cleanedLineForValidation = trimmedLine.replace(" ", ""); // Elimina espacios para validar longitud
@@ -422,12 +701,8 @@ public class Buscador extends JFrame {
                         // Validar que la línea solo contenga letras y tenga la longitud correcta
                         for (char c : cleanedLineForValidation.toCharArray()) {
                             if (!isValidLetter(c)) {
-                                JOptionPane.showMessageDialog(this,
-                                    "Error de formato: El tablero contiene caracteres no alfabéticos (ej. números o símbolos).",
-                                    "Error de Archivo", JOptionPane.ERROR_MESSAGE);
-                                board = null; // Reinicia el tablero
-                                dictionary.clear(); // Reinicia el diccionario
-                                return false; // Aborta la carga del archivo
+                                reporte.addError("El tablero contiene caracteres fuera del alfabeto (línea " + lineNumber + ": '" + trimmedLine + "').");
+                                return null; // Aborta la carga del archivo
                             }
                         }
 
@@ -435,49 +710,43 @@ public class Buscador extends JFrame {
                         if (boardLinesRaw.isEmpty() || cleanedLineForValidation.length() == boardLinesRaw.get(0).replace(" ", "").length()) {
                             boardLinesRaw.add(trimmedLine); // Añadir la línea original a la lista temporal
                         } else {
-                            JOptionPane.showMessageDialog(this,
-                                "Error de formato: Las líneas del tablero no tienen la misma longitud (después de quitar espacios).",
-                                "Error de Archivo", JOptionPane.ERROR_MESSAGE);
-                            board = null;
-                            dictionary.clear();
-                            return false;
+                            reporte.addError("Las líneas del tablero no tienen la misma longitud (después de quitar espacios), línea " + lineNumber + ".");
+                            return null;
                         }
                     }
                 }
             }
+            ingesta.finish();
 
+            char[][] loadedBoard = null;
             if (!boardLinesRaw.isEmpty()) {
                 // Primero, verifica la longitud del tablero después de limpiar espacios de la primera línea
                 String firstCleanedBoardLine = boardLinesRaw.get(0).replace(" ", "");
                 if (boardLinesRaw.size() != 4 || firstCleanedBoardLine.length() != 4) {
-                    JOptionPane.showMessageDialog(this,
-                        "Error: El tablero debe ser de 4x4. Se encontró " + boardLinesRaw.size() + "x" + firstCleanedBoardLine.length() + ".",
-                        "Error de Archivo", JOptionPane.ERROR_MESSAGE);
-                    board = null;
-                    dictionary.clear();
-                    return false;
+                    reporte.addError("El tablero debe ser de 4x4. Se encontró " + boardLinesRaw.size() + "x" + firstCleanedBoardLine.length() + ".");
+                    return null;
                 }
 
-                // Ahora, llena el array 'board' correctamente eliminando espacios
-                board = new char[boardLinesRaw.size()][4]; // Definimos la columna como 4 porque ya validamos el 4x4
+                // Ahora, llena el array del tablero correctamente eliminando espacios
+                loadedBoard = new char[boardLinesRaw.size()][];
                 for (int i = 0; i < boardLinesRaw.size(); i++) {
                     String cleanedBoardLine = boardLinesRaw.get(i).replace(" ", ""); // Limpia espacios de cada línea
-                    board[i] = cleanedBoardLine.toCharArray(); // Convierte la línea limpia a char array
+                    loadedBoard[i] = cleanedBoardLine.toCharArray(); // Convierte la línea limpia a char array
                 }
             } else {
-                JOptionPane.showMessageDialog(this, "Advertencia: No se encontró la sección de tablero en el archivo.", "Advertencia", JOptionPane.WARNING_MESSAGE);
+                reporte.addWarning("No se encontró la sección de tablero en el archivo.");
             }
 
-            if (dictionary.isEmpty()) {
-                JOptionPane.showMessageDialog(this, "Advertencia: No se encontró la sección de diccionario o está vacía.", "Advertencia", JOptionPane.WARNING_MESSAGE);
+            if (ingesta.getWords().isEmpty()) {
+                reporte.addWarning("No se encontró la sección de diccionario o está vacía.");
             }
-            return true;
+            return loadedBoard;
         } catch (FileNotFoundException e) {
-            JOptionPane.showMessageDialog(this, "Error: El archivo no fue encontrado.\n" + e.getMessage(), "Error de Archivo", JOptionPane.ERROR_MESSAGE);
-            return false;
+            reporte.addError("El archivo no fue encontrado.\n" + e.getMessage());
+            return null;
         } catch (IOException e) {
-            JOptionPane.showMessageDialog(this, "Error al leer el archivo:\n" + e.getMessage(), "Error de Archivo", JOptionPane.ERROR_MESSAGE);
-            return false;
+            reporte.addError("Error al leer el archivo:\n" + e.getMessage());
+            return null;
         }
     }
 
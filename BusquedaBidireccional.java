@@ -0,0 +1,172 @@
+package com.mycompany.proyecto1;
+
+import java.util.Collections;
+
+/**
+ * Búsqueda bidireccional ("meet-in-the-middle") de una palabra en el tablero.
+ * Una frontera crece desde las celdas con la primera letra y cubre la primera mitad de la
+ * palabra; la otra crece desde las celdas con la última letra, hacia atrás, y cubre la
+ * segunda mitad. Las dos mitades se unen en la celda de la letra central.
+ *
+ * Al unir dos mitades se exige que no compartan ninguna celda (además de la central):
+ * las celdas de la mitad delantera se marcan en el arreglo de marcas del BufferBusqueda y
+ * se recorre la mitad trasera. Para palabras largas se exploran del orden de 2·b^(L/2)
+ * caminos parciales en lugar de b^L.
+ *
+ * Los caminos parciales viven en la arena del BufferBusqueda del hilo y las mitades traseras
+ * se agrupan por celda central en sus grupos con marcas, así que una búsqueda no reserva
+ * memoria de trabajo propia.
+ */
+class BusquedaBidireccional {
+
+    private static final int SIN_PADRE = -1;
+
+    private final Grafo grafo;
+
+    /**
+     * Constructor para la búsqueda.
+     * @param grafo El grafo del tablero.
+     */
+    BusquedaBidireccional(Grafo grafo) {
+        this.grafo = grafo;
+    }
+
+    /**
+     * Busca una palabra uniendo una frontera delantera y una trasera.
+     * @param word La palabra a buscar.
+     * @param limite El límite de la búsqueda; cada camino parcial creado cuenta como una expansión.
+     * @param mapa El mapa de calor donde registrar expansiones y retrocesos, o null.
+     * @return Un ResultadoBusqueda con el estado y el camino.
+     */
+    ResultadoBusqueda search(String word, LimiteBusqueda limite, MapaCalor mapa) {
+        byte[] codes = word == null || word.isEmpty() ? null : grafo.getAlfabeto().encode(word);
+        if (codes == null) {
+            return new ResultadoBusqueda(EstadoBusqueda.NOT_FOUND, Collections.emptyList());
+        }
+        int cells = grafo.getRows() * grafo.getCols();
+        int mid = (codes.length - 1) / 2; // Índice de la letra central, compartida por ambas mitades
+        BufferBusqueda buffer = BufferBusqueda.get();
+        buffer.begin(cells, codes.length);
+        buffer.beginBuckets(cells);
+
+        // 1. Frontera trasera: caminos de la última letra hacia atrás hasta la central
+        int levelStart = buffer.arenaSize;
+        for (int cell : grafo.getStartCells(word.charAt(codes.length - 1))) {
+            if (!add(buffer, cell, SIN_PADRE, limite)) {
+                return exhausted(limite);
+            }
+        }
+        for (int index = codes.length - 2; index >= mid; index--) {
+            int levelEnd = buffer.arenaSize;
+            for (int entry = levelStart; entry < levelEnd; entry++) {
+                if (!extend(buffer, entry, codes[index], false, limite, mapa)) {
+                    return exhausted(limite);
+                }
+            }
+            levelStart = levelEnd;
+        }
+        if (levelStart == buffer.arenaSize) {
+            return new ResultadoBusqueda(EstadoBusqueda.NOT_FOUND, Collections.emptyList());
+        }
+        for (int entry = levelStart; entry < buffer.arenaSize; entry++) {
+            buffer.addToBucket(entry);
+        }
+
+        // 2. Frontera delantera: caminos de la primera letra hasta la central
+        levelStart = buffer.arenaSize;
+        for (int cell : grafo.getStartCells(word.charAt(0))) {
+            if (!add(buffer, cell, SIN_PADRE, limite)) {
+                return exhausted(limite);
+            }
+        }
+        for (int index = 1; index <= mid; index++) {
+            int levelEnd = buffer.arenaSize;
+            for (int entry = levelStart; entry < levelEnd; entry++) {
+                // En el último nivel solo sirven las celdas centrales a las que llega alguna mitad trasera
+                if (!extend(buffer, entry, codes[index], index == mid, limite, mapa)) {
+                    return exhausted(limite);
+                }
+            }
+            levelStart = levelEnd;
+        }
+
+        // 3. Unión: cada mitad delantera con las traseras que llegan a su misma celda central
+        for (int front = levelStart; front < buffer.arenaSize; front++) {
+            int first = buffer.bucketHead(buffer.arenaCell[front]);
+            if (first == SIN_PADRE) {
+                continue;
+            }
+            buffer.nextStamp();
+            for (int e = front; e != SIN_PADRE; e = buffer.arenaParent[e]) {
+                buffer.visited[buffer.arenaCell[e]] = buffer.stamp;
+            }
+            for (int back = first; back != SIN_PADRE; back = buffer.bucketNext[back]) {
+                if (!limite.consume()) { // Cada par comparado también cuenta, para respetar el límite
+                    return exhausted(limite);
+                }
+                if (disjoint(buffer, back)) {
+                    return new ResultadoBusqueda(EstadoBusqueda.FOUND, grafo.decodePath(join(buffer, front, back, codes.length, mid)));
+                }
+            }
+        }
+        return new ResultadoBusqueda(limite.resolve(false), Collections.emptyList());
+    }
+
+    // Verifica que la mitad trasera (sin su celda central) no use celdas marcadas por la delantera
+    private static boolean disjoint(BufferBusqueda buffer, int back) {
+        for (int e = buffer.arenaParent[back]; e != SIN_PADRE; e = buffer.arenaParent[e]) {
+            if (buffer.visited[buffer.arenaCell[e]] == buffer.stamp) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Reconstruye el camino completo a partir de las dos mitades
+    private static int[] join(BufferBusqueda buffer, int front, int back, int length, int mid) {
+        int[] path = new int[length];
+        for (int e = front, i = mid; e != SIN_PADRE; e = buffer.arenaParent[e], i--) {
+            path[i] = buffer.arenaCell[e];
+        }
+        // La mitad trasera va de la central hacia la última letra siguiendo los padres
+        for (int e = back, i = mid; e != SIN_PADRE; e = buffer.arenaParent[e], i++) {
+            path[i] = buffer.arenaCell[e];
+        }
+        return path;
+    }
+
+    // Extiende un camino parcial a los vecinos con la letra dada que no estén ya en él
+    private boolean extend(BufferBusqueda buffer, int entry, byte code, boolean onlyCenters,
+                           LimiteBusqueda limite, MapaCalor mapa) {
+        int last = buffer.arenaCell[entry];
+        int before = buffer.arenaSize;
+        for (int dir = 0; dir < 8; dir++) {
+            int neighbor = grafo.getNeighborCell(last, dir);
+            if (neighbor >= 0 && grafo.getCode(neighbor) == code
+                    && (!onlyCenters || buffer.bucketHead(neighbor) != SIN_PADRE) && !buffer.onPath(entry, neighbor)) {
+                if (!add(buffer, neighbor, entry, limite)) {
+                    return false;
+                }
+            }
+        }
+        if (mapa != null) {
+            mapa.visit(last);
+            if (buffer.arenaSize == before) {
+                mapa.backtrack(last); // Camino parcial sin salida
+            }
+        }
+        return true;
+    }
+
+    private static boolean add(BufferBusqueda buffer, int cell, int parent, LimiteBusqueda limite) {
+        if (!limite.consume()) {
+            return false;
+        }
+        buffer.addEntry(cell, parent, parent == SIN_PADRE ? 1 : buffer.arenaDepth[parent] + 1);
+        return true;
+    }
+
+    private static ResultadoBusqueda exhausted(LimiteBusqueda limite) {
+        return new ResultadoBusqueda(limite.getEstadoAgotado(), Collections.emptyList());
+    }
+}
@@ -0,0 +1,186 @@
+package com.mycompany.proyecto1;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Búsqueda incremental por prefijo para la búsqueda mientras se escribe.
+ * Mantiene las fronteras de caminos que forman cada prefijo del texto actual, de modo que
+ * añadir una letra solo expande la frontera viva y borrar una letra recupera la frontera previa.
+ *
+ * Los caminos se guardan en una arena de enteros: cada entrada tiene su celda y el índice de
+ * su entrada padre, así que extender un camino no copia las celdas anteriores. Las fronteras
+ * de los prefijos son tramos consecutivos de la arena. Cada letra añadida se expande con su
+ * propio LimiteBusqueda (cada camino nuevo cuenta como una expansión); si se agota, la
+ * búsqueda se abandona en el último prefijo completo y ese resaltado se conserva marcado
+ * como abandonado hasta que se borre la letra que lo agotó.
+ */
+public class BusquedaIncremental {
+
+    private static final int SIN_PADRE = -1;
+
+    private final Grafo grafo;
+    private final Supplier<LimiteBusqueda> limites; // Crea el límite de cada letra añadida
+    private final StringBuilder prefijo;            // Texto actual, incluidas las letras no expandidas
+
+    // Arena de caminos: celda y entrada padre de cada uno
+    private int[] arenaCell = new int[64];
+    private int[] arenaParent = new int[64];
+    private int arenaSize = 0;
+
+    private int[] levelEnd = new int[16]; // Fin (exclusivo) en la arena de la frontera de cada prefijo completo
+    private int levels = 0;               // Número de prefijos completos
+    private EstadoBusqueda agotado;       // Motivo del abandono, o null si todo el texto está expandido
+
+    /**
+     * Constructor para la búsqueda incremental.
+     * @param grafo El grafo del tablero sobre el que se busca.
+     * @param limites Fábrica del límite de tiempo/expansiones de cada letra añadida.
+     */
+    public BusquedaIncremental(Grafo grafo, Supplier<LimiteBusqueda> limites) {
+        this.grafo = grafo;
+        this.limites = limites;
+        this.prefijo = new StringBuilder();
+    }
+
+    /**
+     * Actualiza la búsqueda para un nuevo texto.
+     * Se conserva la parte común con el prefijo anterior: las letras sobrantes se
+     * descartan retrocediendo y las letras nuevas expanden la frontera.
+     * @param texto El texto actual del campo de búsqueda (ya en mayúsculas).
+     */
+    public void update(String texto) {
+        int comun = 0;
+        while (comun < prefijo.length() && comun < texto.length()
+                && prefijo.charAt(comun) == texto.charAt(comun)) {
+            comun++;
+        }
+
+        // Retroceder (backspace) hasta el prefijo común
+        prefijo.setLength(comun);
+        if (levels > comun) {
+            levels = comun;
+            arenaSize = levels == 0 ? 0 : levelEnd[levels - 1];
+        }
+        if (levels == prefijo.length()) {
+            agotado = null; // Se borró la letra que agotó el límite
+        }
+
+        // Expandir con las letras nuevas; tras un abandono ya no se expande más
+        for (int i = comun; i < texto.length(); i++) {
+            prefijo.append(texto.charAt(i));
+            if (agotado == null) {
+                extend(texto.charAt(i));
+            }
+        }
+    }
+
+    /**
+     * Extiende la frontera actual con una letra más.
+     * El costo es proporcional al tamaño de la frontera que sobrevive, y está acotado por el límite.
+     * @param letra La letra añadida al prefijo.
+     */
+    private void extend(char letra) {
+        LimiteBusqueda limite = limites.get();
+        int start = arenaSize;
+
+        if (levels == 0) {
+            // Primera letra: todas las celdas que coinciden inician un camino
+            for (int cell : grafo.getStartCells(letra)) {
+                if (!add(cell, SIN_PADRE, limite)) {
+                    abandon(start, limite);
+                    return;
+                }
+            }
+        } else {
+            int from = levels == 1 ? 0 : levelEnd[levels - 2];
+            for (int entry = from; entry < start; entry++) {
+                int last = arenaCell[entry];
+                for (int i = 0; i < 8; i++) {
+                    int neighbor = grafo.getNeighborCell(last, i);
+                    if (neighbor >= 0 && grafo.getValue(neighbor) == letra && !onPath(entry, neighbor)
+                            && !add(neighbor, entry, limite)) {
+                        abandon(start, limite);
+                        return;
+                    }
+                }
+            }
+        }
+
+        if (levels == levelEnd.length) {
+            levelEnd = Arrays.copyOf(levelEnd, levels * 2);
+        }
+        levelEnd[levels++] = arenaSize;
+    }
+
+    // Descarta la frontera a medio construir y recuerda por qué se abandonó
+    private void abandon(int start, LimiteBusqueda limite) {
+        arenaSize = start;
+        agotado = limite.getEstadoAgotado();
+    }
+
+    private boolean onPath(int entry, int cell) {
+        for (int e = entry; e != SIN_PADRE; e = arenaParent[e]) {
+            if (arenaCell[e] == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean add(int cell, int parent, LimiteBusqueda limite) {
+        if (!limite.consume()) {
+            return false;
+        }
+        if (arenaSize == arenaCell.length) {
+            arenaCell = Arrays.copyOf(arenaCell, arenaSize * 2);
+            arenaParent = Arrays.copyOf(arenaParent, arenaSize * 2);
+        }
+        arenaCell[arenaSize] = cell;
+        arenaParent[arenaSize] = parent;
+        arenaSize++;
+        return true;
+    }
+
+    /**
+     * Obtiene el prefijo para el que está calculada la frontera.
+     * @return El prefijo actual.
+     */
+    public String getPrefijo() {
+        return prefijo.toString();
+    }
+
+    /**
+     * Obtiene el número de caminos vivos para el último prefijo completo.
+     * @return El tamaño de la frontera; 0 si el prefijo está vacío o no existe en el tablero.
+     */
+    public int getTamanoFrontera() {
+        return levels == 0 ? 0 : levelEnd[levels - 1] - (levels == 1 ? 0 : levelEnd[levels - 2]);
+    }
+
+    /**
+     * Indica si la búsqueda se abandonó porque una letra agotó su límite.
+     * @return TIMED_OUT o BUDGET_EXCEEDED, o null si todo el texto está expandido.
+     */
+    public EstadoBusqueda getEstadoAgotado() {
+        return agotado;
+    }
+
+    /**
+     * Construye un resultado para el PanelBFST con el primer camino vivo del último prefijo completo.
+     * Si la búsqueda se abandonó, el resultado tiene el estado del límite agotado y conserva
+     * el camino del último prefijo completo.
+     * @return Un ResultadoBFS con el camino si el prefijo existe en el tablero.
+     */
+    public ResultadoBFS toResultado() {
+        if (getTamanoFrontera() == 0) {
+            return new ResultadoBFS(agotado != null ? agotado : EstadoBusqueda.NOT_FOUND, null, null, -1, grafo);
+        }
+        int[] path = new int[levels];
+        int entry = levels == 1 ? 0 : levelEnd[levels - 2];
+        for (int i = levels - 1; i >= 0; i--, entry = arenaParent[entry]) {
+            path[i] = arenaCell[entry];
+        }
+        return new ResultadoBFS(agotado != null ? agotado : EstadoBusqueda.FOUND, path, null, path[0], grafo);
+    }
+}
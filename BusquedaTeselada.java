@@ -0,0 +1,397 @@
+package com.mycompany.proyecto1;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Búsqueda de todas las palabras de un diccionario en un TableroMapeado, tesela por tesela,
+ * para tableros que no caben en la memoria.
+ *
+ * Cada hilo toma la siguiente tesela, copia a su propio arreglo la tesela más un halo de
+ * (longitud de la palabra más larga - 1) celdas alrededor, y recorre con un DFS guiado por el
+ * trie los caminos que empiezan en la tesela. Como ningún camino se aleja de su celda inicial
+ * más que ese halo, cada camino se encuentra completo en la tesela donde empieza y en ninguna
+ * otra, así que los caminos que cruzan bordes no se cuentan dos veces.
+ *
+ * Cada palabra se reclama una sola vez entre todos los hilos, y cada nodo del trie lleva la
+ * cuenta de las palabras de su subárbol que aún faltan: los subárboles ya completos se podan,
+ * y el recorrido termina en cuanto se encuentran todas las palabras. Sin límite de expansiones,
+ * el conjunto de palabras encontradas no depende del número de hilos, pero el camino que se
+ * informa de cada una sí puede cambiar. Con límite, el conjunto tampoco es determinista: la
+ * poda depende de qué hilo reclamó antes cada palabra, y con ella qué teselas agotan su límite
+ * y qué palabras quedan sin encontrar. La memoria usada depende del tamaño de tesela, del número de hilos y del
+ * tamaño del diccionario, no del tamaño del tablero.
+ */
+public class BusquedaTeselada {
+
+    private final TableroMapeado tablero;
+    private final TrieDiccionario trie;
+    private final int hilos;
+    private final long maxExpansions;  // Límite de expansiones por tesela; 0 para no limitar
+    private final int halo;
+    private final int[] trieCode;      // Código del trie de cada código del tablero; -1 si no pertenece
+    private final int[] parent;        // Padre de cada nodo del trie; SIN_NODO para la raíz
+    private final int[] wordsBelow;    // Palabras del subárbol de cada nodo (incluido el nodo)
+
+    // Estado del último recorrido
+    private final ConcurrentHashMap<String, CoincidenciaTeselada> encontradas = new ConcurrentHashMap<>();
+    private AtomicIntegerArray pendientes; // Palabras del subárbol de cada nodo que aún no se encuentran
+    private AtomicIntegerArray reclamadas; // 1 si la palabra de un nodo terminal ya fue encontrada
+    private final AtomicInteger teselasIncompletas = new AtomicInteger();
+    private final AtomicLong expansiones = new AtomicLong();
+
+    /**
+     * Constructor para la búsqueda.
+     * @param tablero El tablero mapeado.
+     * @param trie El diccionario.
+     * @param hilos Número de hilos (cada uno con su propia ventana de tesela + halo).
+     * @param maxExpansions Límite de expansiones por tesela, o 0 para no limitar.
+     */
+    public BusquedaTeselada(TableroMapeado tablero, TrieDiccionario trie, int hilos, long maxExpansions) {
+        this.tablero = tablero;
+        this.trie = trie;
+        this.hilos = Math.max(1, hilos);
+        this.maxExpansions = maxExpansions;
+        this.halo = Math.max(0, trie.maxWordLength() - 1);
+        Alfabeto alfabeto = tablero.getAlfabeto();
+        this.trieCode = new int[alfabeto.size()];
+        for (int code = 0; code < trieCode.length; code++) {
+            trieCode[code] = trie.getAlfabeto().code(alfabeto.symbol(code));
+        }
+
+        // Los hijos tienen números mayores que sus padres: de mayor a menor se suman los subárboles
+        int nodes = trie.nodeCount();
+        this.parent = new int[nodes];
+        this.wordsBelow = new int[nodes];
+        parent[TrieDiccionario.RAIZ] = TrieDiccionario.SIN_NODO;
+        for (int node = 0; node < nodes; node++) {
+            for (int ch = trie.firstChild(node); ch != TrieDiccionario.SIN_NODO; ch = trie.nextSibling(ch)) {
+                parent[ch] = node;
+            }
+        }
+        for (int node = nodes - 1; node >= 0; node--) {
+            wordsBelow[node] += trie.isWord(node) ? 1 : 0;
+            if (parent[node] != TrieDiccionario.SIN_NODO) {
+                wordsBelow[parent[node]] += wordsBelow[node];
+            }
+        }
+    }
+
+    /**
+     * Recorre todas las teselas en paralelo.
+     * @return Las palabras encontradas, cada una con un solo camino, ordenadas por celda inicial.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    public List<CoincidenciaTeselada> scan() throws InterruptedException {
+        encontradas.clear();
+        pendientes = new AtomicIntegerArray(wordsBelow);
+        reclamadas = new AtomicIntegerArray(wordsBelow.length);
+        teselasIncompletas.set(0);
+        expansiones.set(0);
+        AtomicLong siguiente = new AtomicLong();
+        long teselas = (long) tablero.getTileRows() * tablero.getTileCols();
+
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Callable<Void>> tareas = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                tareas.add(() -> {
+                    Ventana ventana = new Ventana();
+                    for (long t = siguiente.getAndIncrement(); t < teselas && pendientes.get(TrieDiccionario.RAIZ) > 0;
+                         t = siguiente.getAndIncrement()) {
+                        ventana.scan((int) (t / tablero.getTileCols()), (int) (t % tablero.getTileCols()));
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tareas)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Falló la búsqueda de una tesela.", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<CoincidenciaTeselada> resultado = new ArrayList<>(encontradas.values());
+        resultado.sort(Comparator.comparingLong(CoincidenciaTeselada::getStart).thenComparing(CoincidenciaTeselada::getWord));
+        return resultado;
+    }
+
+    // Reclama la palabra de un nodo terminal; true si ningún otro hilo la había encontrado
+    private boolean claim(int node) {
+        if (!reclamadas.compareAndSet(node, 0, 1)) {
+            return false;
+        }
+        for (int n = node; n != TrieDiccionario.SIN_NODO; n = parent[n]) {
+            pendientes.decrementAndGet(n);
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene el halo usado alrededor de cada tesela.
+     * @return La longitud de la palabra más larga del diccionario menos uno.
+     */
+    public int getHalo() {
+        return halo;
+    }
+
+    /**
+     * Obtiene cuántas teselas agotaron su límite de expansiones en el último recorrido.
+     * Si no es cero, puede faltar alguna palabra que solo aparece en esas teselas.
+     * @return El número de teselas incompletas.
+     */
+    public int getTeselasIncompletas() {
+        return teselasIncompletas.get();
+    }
+
+    /**
+     * Obtiene el total de expansiones del último recorrido.
+     * @return Las expansiones de todas las teselas.
+     */
+    public long getExpansions() {
+        return expansiones.get();
+    }
+
+    /**
+     * Memoria de trabajo de un hilo: la tesela actual con su halo y el estado del DFS.
+     * Se reutiliza para todas las teselas que procesa el hilo.
+     */
+    private class Ventana {
+        private final int size = tablero.getTileSize() + 2 * halo; // Lado máximo de la ventana
+        private final byte[] codes = new byte[size * size];          // Códigos del trie de cada celda; -1 si no sirve
+        private final boolean[] visited = new boolean[size * size];
+        private final int[] path = new int[halo + 1];
+
+        // Datos de la tesela actual
+        private int row0;
+        private int col0;
+        private int height;
+        private int width;
+        private LimiteBusqueda limite;
+
+        void scan(int tr, int tc) {
+            int tile = tablero.getTileSize();
+            int coreRow = tr * tile;
+            int coreCol = tc * tile;
+            int coreHeight = Math.min(tile, tablero.getRows() - coreRow);
+            int coreWidth = Math.min(tile, tablero.getCols() - coreCol);
+            row0 = Math.max(0, coreRow - halo);
+            col0 = Math.max(0, coreCol - halo);
+            height = Math.min(tablero.getRows(), coreRow + coreHeight + halo) - row0;
+            width = Math.min(tablero.getCols(), coreCol + coreWidth + halo) - col0;
+            tablero.read(row0, col0, height, width, codes);
+            for (int i = 0; i < height * width; i++) {
+                codes[i] = codes[i] < 0 ? -1 : (byte) trieCode[codes[i]];
+            }
+            limite = maxExpansions > 0 ? LimiteBusqueda.conExpansiones(maxExpansions) : LimiteBusqueda.sinLimite();
+
+            // Solo los caminos que empiezan en el núcleo de la tesela; el halo únicamente se atraviesa
+            for (int r = coreRow - row0; r < coreRow - row0 + coreHeight && !limite.isAgotado()
+                    && pendientes.get(TrieDiccionario.RAIZ) > 0; r++) {
+                for (int c = coreCol - col0; c < coreCol - col0 + coreWidth && !limite.isAgotado(); c++) {
+                    dfs(r * width + c, TrieDiccionario.RAIZ, 0);
+                }
+            }
+            expansiones.addAndGet(limite.getExpansions());
+            if (limite.isAgotado()) {
+                teselasIncompletas.incrementAndGet();
+            }
+        }
+
+        private void dfs(int cell, int parent, int depth) {
+            int code = codes[cell];
+            int node = code < 0 ? TrieDiccionario.SIN_NODO : trie.child(parent, code);
+            if (node == TrieDiccionario.SIN_NODO || pendientes.get(node) == 0) {
+                return; // Ninguna palabra pendiente sigue por aquí
+            }
+            if (!limite.consume()) {
+                return;
+            }
+            path[depth] = cell;
+            if (trie.isWord(node) && claim(node)) {
+                String word = currentWord(depth + 1);
+                encontradas.put(word, new CoincidenciaTeselada(word, globalPath(depth + 1)));
+            }
+            if (depth == halo) {
+                return; // Ninguna palabra del diccionario es más larga
+            }
+            visited[cell] = true;
+            int r = cell / width;
+            int c = cell % width;
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int nr = r + dr;
+                    int nc = c + dc;
+                    if ((dr != 0 || dc != 0) && nr >= 0 && nr < height && nc >= 0 && nc < width
+                            && !visited[nr * width + nc]) {
+                        dfs(nr * width + nc, node, depth + 1);
+                    }
+                }
+            }
+            visited[cell] = false; // Retroceder (backtrack)
+        }
+
+        private String currentWord(int length) {
+            char[] letters = new char[length];
+            for (int i = 0; i < length; i++) {
+                letters[i] = trie.getAlfabeto().symbol(codes[path[i]]);
+            }
+            return new String(letters);
+        }
+
+        private long[] globalPath(int length) {
+            long[] global = new long[length];
+            for (int i = 0; i < length; i++) {
+                long row = row0 + path[i] / width;
+                long col = col0 + path[i] % width;
+                global[i] = row * tablero.getCols() + col;
+            }
+            return global;
+        }
+    }
+
+    // Frecuencia (en %) de las letras fuera de A-Z, como Ñ o las vocales acentuadas
+    private static final double FRECUENCIA_OTRAS = 0.3;
+
+    // Distribución acumulada de los símbolos de un alfabeto, con la frecuencia del español para A-Z
+    private static double[] frecuencias(Alfabeto alfabeto) {
+        double[] acc = new double[alfabeto.size()];
+        double total = 0;
+        for (int code = 0; code < acc.length; code++) {
+            int i = GeneradorSopa.LETRAS.indexOf(alfabeto.symbol(code));
+            total += i >= 0 ? GeneradorSopa.FRECUENCIA_ESPANOL[i] : FRECUENCIA_OTRAS;
+            acc[code] = total;
+        }
+        return acc;
+    }
+
+    // Letra pseudoaleatoria de una celda, muestreada del alfabeto del tablero; depende solo de
+    // la semilla y la posición, así que se puede generar en cualquier orden
+    private static char randomLetter(long seed, int row, int col, Alfabeto alfabeto, double[] acumulada) {
+        long z = seed + 0x9E3779B97F4A7C15L * (((long) row << 32) ^ col);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        double x = (z >>> 11) * 0x1.0p-53 * acumulada[acumulada.length - 1];
+        for (int code = 0; code < acumulada.length - 1; code++) {
+            if (x < acumulada[code]) {
+                return alfabeto.symbol(code);
+            }
+        }
+        return alfabeto.symbol(acumulada.length - 1);
+    }
+
+    public static void main(String[] args) {
+        String archivoTablero = null;
+        String diccionario = null;
+        String importar = null;
+        String crear = null;
+        int tesela = 1024;
+        int hilos = Runtime.getRuntime().availableProcessors();
+        long maxExpansions = 0;
+        long seed = 42;
+        String output = null;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--tablero": archivoTablero = value; break;
+                case "--diccionario": diccionario = value; break;
+                case "--importar": importar = value; break;
+                case "--crear": crear = value; break;
+                case "--tesela": tesela = Integer.parseInt(value); break;
+                case "--hilos": hilos = Integer.parseInt(value); break;
+                case "--expansiones": maxExpansions = Long.parseLong(value); break;
+                case "--semilla": seed = Long.parseLong(value); break;
+                case "--salida": output = value; break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(1);
+            }
+        }
+        if (archivoTablero == null || diccionario == null) {
+            System.err.println("Faltan las opciones --tablero <archivo> y --diccionario <archivo>.");
+            System.exit(1);
+        }
+
+        try {
+            Alfabeto alfabeto = new Alfabeto(System.getProperty("sopa.alfabeto", Alfabeto.ESPANOL.toString()));
+            Path tableroPath = Paths.get(archivoTablero);
+            if (importar != null) {
+                TableroMapeado.importar(new File(importar), tableroPath, tesela, alfabeto);
+            } else if (crear != null) {
+                // --crear FILASxCOLUMNAS: tablero aleatorio con las letras del alfabeto (sopa.alfabeto),
+                // con la frecuencia del español para A-Z
+                String[] dims = crear.toLowerCase().split("x");
+                long semilla = seed;
+                double[] acumulada = frecuencias(alfabeto);
+                TableroMapeado.crear(tableroPath, Integer.parseInt(dims[0]), Integer.parseInt(dims[1]), tesela, alfabeto,
+                        (r, c) -> randomLetter(semilla, r, c, alfabeto, acumulada));
+            }
+
+            ReporteValidacion reporte = new ReporteValidacion();
+            ArchivoSopa sopa = ArchivoSopa.leer(new File(diccionario), alfabeto, 3, reporte);
+            if (sopa == null || sopa.getWords().isEmpty()) {
+                System.err.print(reporte);
+                System.exit(1);
+            }
+            TrieDiccionario trie = new TrieDiccionario(alfabeto);
+            for (String word : sopa.getWords()) {
+                trie.add(word);
+            }
+
+            try (TableroMapeado tablero = TableroMapeado.abrir(tableroPath)) {
+                BusquedaTeselada busqueda = new BusquedaTeselada(tablero, trie, hilos, maxExpansions);
+                System.out.printf("Tablero %dx%d en teselas de %d (%dx%d), halo %d, %d palabras, %d hilos%n",
+                        tablero.getRows(), tablero.getCols(), tablero.getTileSize(), tablero.getTileRows(),
+                        tablero.getTileCols(), busqueda.getHalo(), trie.size(), hilos);
+                long inicio = System.nanoTime();
+                List<CoincidenciaTeselada> encontradas = busqueda.scan();
+                double segundos = (System.nanoTime() - inicio) / 1e9;
+                Runtime runtime = Runtime.getRuntime();
+                System.out.printf("%d palabras encontradas en %.2f s, %d expansiones, %d teselas incompletas, heap usado %d MB%n",
+                        encontradas.size(), segundos, busqueda.getExpansions(), busqueda.getTeselasIncompletas(),
+                        (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+
+                if (output != null) {
+                    try (Writer writer = new BufferedWriter(new FileWriter(output), 1 << 16)) {
+                        for (CoincidenciaTeselada coincidencia : encontradas) {
+                            writer.write(coincidencia.getWord());
+                            for (long cell : coincidencia.getPath()) {
+                                writer.write(" (" + cell / tablero.getCols() + "," + cell % tablero.getCols() + ")");
+                            }
+                            writer.write('\n');
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.mycompany.proyecto1;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Caché en disco de los resultados del diccionario, direccionada por contenido.
+ * La clave es un SHA-256 del tablero, el alfabeto, el algoritmo y la versión del diccionario
+ * (a su vez un SHA-256 de sus palabras en orden), de modo que cualquier cambio en el tablero
+ * o en el diccionario produce otra clave y nunca se usan resultados viejos.
+ *
+ * Cada entrada es un archivo compacto con el estado y el camino de cada palabra, que se lee
+ * de una vez a memoria. Cuando el directorio supera el tamaño máximo se
+ * borran las entradas usadas hace más tiempo (la fecha de modificación se renueva en cada uso).
+ */
+public class CacheResultados {
+
+    private static final int MAGIC = 0x534F5052; // "SOPR"
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".res";
+
+    private final Path directory;
+    private final long maxBytes; // Tamaño máximo del directorio de caché
+
+    /**
+     * Constructor para la caché.
+     * @param directory El directorio donde se guardan las entradas (se crea si no existe).
+     * @param maxBytes El tamaño máximo que pueden ocupar todas las entradas.
+     */
+    public CacheResultados(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Crea la caché con la configuración por defecto: el directorio se puede cambiar con
+     * -Dsopa.cache=DIRECTORIO (por defecto ~/.sopa-cache) y el tamaño máximo con
+     * -Dsopa.cache.max=BYTES (por defecto 64 MB).
+     * @return La caché.
+     */
+    public static CacheResultados porDefecto() {
+        Path directory = Paths.get(System.getProperty("sopa.cache",
+                Paths.get(System.getProperty("user.home"), ".sopa-cache").toString()));
+        long maxBytes = Long.getLong("sopa.cache.max", 64L << 20);
+        return new CacheResultados(directory, maxBytes);
+    }
+
+    /**
+     * Calcula la versión de un diccionario.
+     * @param words Las palabras del diccionario.
+     * @return El SHA-256 de las palabras en orden, en hexadecimal.
+     */
+    public static String dictionaryVersion(List<String> words) {
+        MessageDigest digest = sha256();
+        for (String word : words) {
+            digest.update(word.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Calcula la clave de una solución del diccionario.
+     * @param grafo El tablero.
+     * @param dictionaryVersion La versión del diccionario (ver {@link #dictionaryVersion(List)}).
+     * @param useBfs true si se resuelve con BFS, false con DFS (el camino encontrado puede variar).
+     * @return El SHA-256 de todo el contenido, en hexadecimal.
+     */
+    public static String key(Grafo grafo, String dictionaryVersion, boolean useBfs) {
+        MessageDigest digest = sha256();
+        StringBuilder sb = new StringBuilder();
+        sb.append(grafo.getRows()).append('x').append(grafo.getCols()).append('\n');
+        for (int cell = 0; cell < grafo.getRows() * grafo.getCols(); cell++) {
+            sb.append(grafo.getValue(cell));
+        }
+        sb.append('\n').append(grafo.getAlfabeto()).append('\n');
+        sb.append(useBfs ? "BFS" : "DFS").append('\n').append(dictionaryVersion);
+        digest.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Busca los resultados guardados para una clave.
+     * La entrada se descarta (y se borra) si no concuerda con las palabras o el tablero:
+     * celdas fuera del tablero, caminos de longitud distinta a su palabra, o un estado que
+     * no concuerda con su camino.
+     * @param key La clave.
+     * @param words Las palabras del diccionario, en el orden en que se guardaron.
+     * @param cells El número de celdas del tablero (filas * columnas).
+     * @return El estado y camino de cada palabra, o null si no hay entrada válida para la clave.
+     * @throws IOException Si ocurre un error de lectura.
+     */
+    public ResultadoFragmento load(String key, List<String> words, int cells) throws IOException {
+        Path file = directory.resolve(key + EXTENSION);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        // Se lee a un arreglo y no con FileChannel.map: un archivo mapeado no se puede borrar ni
+        // reemplazar en Windows mientras el mapeo siga vivo, y decode copia todo al heap de todos modos
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        int[] wordLengths = new int[words.size()];
+        for (int i = 0; i < wordLengths.length; i++) {
+            wordLengths[i] = words.get(i).length();
+        }
+        ResultadoFragmento resultado = decode(buffer, wordLengths, cells);
+        if (resultado == null) {
+            Files.deleteIfExists(file); // Entrada dañada o de otro formato
+            return null;
+        }
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis())); // Uso reciente para el LRU
+        return resultado;
+    }
+
+    // Lee una entrada; devuelve null si el contenido no es válido o no concuerda con las palabras y el tablero
+    private static ResultadoFragmento decode(ByteBuffer buffer, int[] wordLengths, int cells) {
+        EstadoBusqueda[] valores = EstadoBusqueda.values();
+        int size = wordLengths.length;
+        if (buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getInt() != size) {
+            return null;
+        }
+        ResultadoFragmento resultado = new ResultadoFragmento(0, size);
+        for (int i = 0; i < size; i++) {
+            if (buffer.remaining() < 5) {
+                return null;
+            }
+            int estado = buffer.get();
+            int length = buffer.getInt();
+            if (estado < 0 || estado >= valores.length || length < 0 || buffer.remaining() < length * 4L) {
+                return null;
+            }
+            // Solo se guardan FOUND, con un camino de la longitud de su palabra, y NOT_FOUND, sin camino
+            boolean found = valores[estado] == EstadoBusqueda.FOUND;
+            if (found ? length == 0 || length != wordLengths[i]
+                      : valores[estado] != EstadoBusqueda.NOT_FOUND || length != 0) {
+                return null;
+            }
+            int[] path = new int[length];
+            buffer.asIntBuffer().get(path);
+            buffer.position(buffer.position() + length * 4);
+            for (int cell : path) {
+                if (cell < 0 || cell >= cells) {
+                    return null;
+                }
+            }
+            resultado.set(i, valores[estado], path);
+        }
+        return resultado;
+    }
+
+    /**
+     * Guarda los resultados de una solución del diccionario y aplica el límite de tamaño.
+     * No se guardan soluciones con palabras que agotaron su límite de búsqueda, porque ese
+     * resultado depende de la máquina y del momento, no solo del tablero y el diccionario.
+     * @param key La clave.
+     * @param solucion La solución del diccionario.
+     * @return true si se guardó.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    public boolean store(String key, SolucionDiccionario solucion) throws IOException {
+        for (int id = 0; id < solucion.size(); id++) {
+            EstadoBusqueda estado = solucion.getEstado(id);
+            if (estado != EstadoBusqueda.FOUND && estado != EstadoBusqueda.NOT_FOUND) {
+                return false;
+            }
+        }
+        Files.createDirectories(directory);
+        // Se escribe en un temporal y se renombra, para que nadie lea una entrada a medias
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try (OutputStream file = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(solucion.size());
+            for (int id = 0; id < solucion.size(); id++) {
+                int[] path = solucion.getPath(id);
+                out.writeByte(solucion.getEstado(id).ordinal());
+                out.writeInt(path.length);
+                for (int cell : path) {
+                    out.writeInt(cell);
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        try {
+            Files.move(temp, directory.resolve(key + EXTENSION), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp); // Por ejemplo, otro proceso tiene abierta la entrada anterior
+            throw e;
+        }
+        evict();
+        return true;
+    }
+
+    // Borra las entradas usadas hace más tiempo hasta que el directorio quepa en el tamaño máximo.
+    // Una entrada que no se puede medir o borrar (otro proceso la borró o la tiene abierta) se salta.
+    private void evict() throws IOException {
+        List<Path> entries = new ArrayList<>();
+        long total = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path entry : stream) {
+                try {
+                    total += Files.size(entry);
+                    entries.add(entry);
+                } catch (IOException e) {
+                    // Ya no existe o no se puede leer: no cuenta para el tamaño
+                }
+            }
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+        entries.sort(Comparator.comparingLong(CacheResultados::lastModified));
+        for (Path entry : entries) {
+            if (total <= maxBytes) {
+                break;
+            }
+            try {
+                long size = Files.size(entry);
+                if (Files.deleteIfExists(entry)) {
+                    total -= size;
+                }
+            } catch (IOException e) {
+                // Se sigue con la siguiente entrada
+            }
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return Long.MIN_VALUE; // Se borra primero
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible.", e); // Toda JVM debe incluirlo
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Obtiene el directorio de la caché.
+     * @return El directorio.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mycompany.proyecto1;
+
+/**
+ * Describe cómo cambió el resultado de una palabra del diccionario tras editar una celda.
+ */
+public class CambioResultado {
+    private final String word;
+    private final EstadoBusqueda estadoAnterior;
+    private final EstadoBusqueda estadoNuevo;
+    private final int[] pathAnterior; // Celdas del camino anterior; vacío si no estaba encontrada
+    private final int[] pathNuevo;    // Celdas del camino nuevo; vacío si ya no se encuentra
+
+    /**
+     * Constructor para un cambio de resultado.
+     * @param word La palabra afectada.
+     * @param estadoAnterior El estado antes del cambio.
+     * @param estadoNuevo El estado después del cambio.
+     * @param pathAnterior El camino antes del cambio.
+     * @param pathNuevo El camino después del cambio.
+     */
+    public CambioResultado(String word, EstadoBusqueda estadoAnterior, EstadoBusqueda estadoNuevo,
+                           int[] pathAnterior, int[] pathNuevo) {
+        this.word = word;
+        this.estadoAnterior = estadoAnterior;
+        this.estadoNuevo = estadoNuevo;
+        this.pathAnterior = pathAnterior;
+        this.pathNuevo = pathNuevo;
+    }
+
+    /**
+     * Obtiene la palabra afectada.
+     * @return La palabra.
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Obtiene el estado de la palabra antes del cambio.
+     * @return El estado anterior.
+     */
+    public EstadoBusqueda getEstadoAnterior() {
+        return estadoAnterior;
+    }
+
+    /**
+     * Obtiene el estado de la palabra después del cambio.
+     * @return El estado nuevo.
+     */
+    public EstadoBusqueda getEstadoNuevo() {
+        return estadoNuevo;
+    }
+
+    /**
+     * Obtiene el camino de la palabra antes del cambio.
+     * @return Las celdas del camino anterior; vacío si no estaba encontrada.
+     */
+    public int[] getPathAnterior() {
+        return pathAnterior;
+    }
+
+    /**
+     * Obtiene el camino de la palabra después del cambio.
+     * @return Las celdas del camino nuevo; vacío si ya no se encuentra.
+     */
+    public int[] getPathNuevo() {
+        return pathNuevo;
+    }
+
+    @Override
+    public String toString() {
+        return word + ": " + estadoAnterior + " -> " + estadoNuevo;
+    }
+}
@@ -0,0 +1,40 @@
+package com.mycompany.proyecto1;
+
+/**
+ * Una palabra del tablero que cumple un patrón de búsqueda, con el camino donde se encontró.
+ */
+public class CoincidenciaPatron {
+    private final String word;
+    private final int[] path; // Celdas del camino (fila * columnas + columna)
+
+    /**
+     * Constructor para una coincidencia.
+     * @param word La palabra formada.
+     * @param path Las celdas del camino, en orden.
+     */
+    public CoincidenciaPatron(String word, int[] path) {
+        this.word = word;
+        this.path = path;
+    }
+
+    /**
+     * Obtiene la palabra formada.
+     * @return La palabra.
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Obtiene el camino donde se encontró la palabra.
+     * @return Las celdas del camino, en orden.
+     */
+    public int[] getPath() {
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return word;
+    }
+}
@@ -0,0 +1,50 @@
+package com.mycompany.proyecto1;
+
+/**
+ * Una palabra del diccionario encontrada en un tablero mapeado, con el camino donde aparece.
+ * Las celdas se guardan como long (fila * columnas + columna), porque un tablero mapeado
+ * puede tener más celdas de las que caben en un int.
+ */
+public class CoincidenciaTeselada {
+    private final String word;
+    private final long[] path; // Celdas globales del camino
+
+    /**
+     * Constructor para una coincidencia.
+     * @param word La palabra formada.
+     * @param path Las celdas globales del camino, en orden.
+     */
+    public CoincidenciaTeselada(String word, long[] path) {
+        this.word = word;
+        this.path = path;
+    }
+
+    /**
+     * Obtiene la palabra formada.
+     * @return La palabra.
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Obtiene el camino donde se encontró la palabra.
+     * @return Las celdas globales del camino (fila * columnas + columna), en orden.
+     */
+    public long[] getPath() {
+        return path;
+    }
+
+    /**
+     * Obtiene la celda inicial del camino.
+     * @return La primera celda global del camino.
+     */
+    public long getStart() {
+        return path[0];
+    }
+
+    @Override
+    public String toString() {
+        return word;
+    }
+}
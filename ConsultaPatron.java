@@ -0,0 +1,252 @@
+package com.mycompany.proyecto1;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator que enumera las palabras del tablero que cumplen un patrón.
+ * En el patrón, '?' representa una letra cualquiera y un '*' final representa un sufijo
+ * de cualquier longitud (incluso vacío); las demás posiciones son letras fijas.
+ *
+ * Las celdas iniciales salen del índice por letra del Grafo cuando el patrón empieza con una
+ * letra fija, y cada paso del DFS descarta enseguida los vecinos que no cumplen la posición
+ * del patrón. Si se da un trie del diccionario, también se descartan los prefijos que no
+ * empiezan ninguna palabra, y solo se producen palabras del diccionario. Cada palabra se
+ * produce una sola vez, con el primer camino encontrado. El costo queda acotado por la
+ * longitud máxima y por el LimiteBusqueda, aunque los comodines acepten cualquier letra:
+ * sin límite explícito se usa uno por defecto, y sin trie la longitud máxima de un patrón
+ * con '*' se recorta a MAX_LONGITUD_SIN_DICCIONARIO.
+ */
+class ConsultaPatron implements Spliterator<CoincidenciaPatron> {
+
+    /** Comodín de una letra. */
+    static final char CUALQUIERA = '?';
+
+    /** Comodín de sufijo (solo al final del patrón). */
+    static final char SUFIJO = '*';
+
+    /** Límite de tiempo por defecto de una consulta, en milisegundos. */
+    static final long LIMITE_TIEMPO_MS = 2000;
+
+    /** Límite de expansiones por defecto de una consulta; también acota las palabras producidas. */
+    static final long LIMITE_EXPANSIONES = 5_000_000;
+
+    /** Longitud máxima de un patrón con '*' sin trie, donde cualquier secuencia es una palabra. */
+    static final int MAX_LONGITUD_SIN_DICCIONARIO = 8;
+
+    private final Grafo grafo;
+    private final char[] fixed;          // Posiciones del patrón sin el '*' final
+    private final boolean openEnded;     // true si el patrón termina en '*'
+    private final int maxLength;         // Longitud máxima de las palabras producidas
+    private final TrieDiccionario trie;  // Diccionario para filtrar; null para no filtrar
+    private final LimiteBusqueda limite; // Límite de expansiones/tiempo (compartido entre divisiones)
+    private long reservadas;             // Expansiones del lote reservado que esta división aún no usa
+    private final Set<String> emitted;   // Palabras ya producidas (compartido entre divisiones)
+    private final int[] startCells;      // Celdas candidatas para la primera posición
+    private int nextStart;
+    private int endStart;
+
+    // Estado del DFS actual
+    private final int[] path;       // Celdas del camino actual
+    private final int[] trieNode;   // Nodo del trie en cada nivel (sin usar si trie es null)
+    private final int[] nextDir;    // Siguiente dirección por probar en cada nivel
+    private final boolean[] visited;
+    private int depth;
+
+    /**
+     * Constructor para el spliterator.
+     * @param grafo El grafo del tablero.
+     * @param pattern El patrón (validado con {@link #validate(String, Alfabeto)}).
+     * @param maxLength Longitud máxima de las palabras para patrones con '*' (sin trie, como
+     * mucho MAX_LONGITUD_SIN_DICCIONARIO).
+     * @param trie El trie del diccionario para filtrar, o null para aceptar cualquier secuencia.
+     * @param limite El límite de la enumeración, o null para usar LIMITE_TIEMPO_MS y LIMITE_EXPANSIONES.
+     */
+    ConsultaPatron(Grafo grafo, String pattern, int maxLength, TrieDiccionario trie, LimiteBusqueda limite) {
+        this(grafo, parseFixed(pattern), pattern.endsWith(String.valueOf(SUFIJO)),
+                trie == null ? Math.min(maxLength, MAX_LONGITUD_SIN_DICCIONARIO) : maxLength, trie,
+                limite != null ? limite : new LimiteBusqueda(LIMITE_TIEMPO_MS, LIMITE_EXPANSIONES),
+                ConcurrentHashMap.newKeySet(), null, 0, -1);
+    }
+
+    private ConsultaPatron(Grafo grafo, char[] fixed, boolean openEnded, int maxLength, TrieDiccionario trie,
+                           LimiteBusqueda limite, Set<String> emitted, int[] startCells, int startFrom, int startTo) {
+        this.grafo = grafo;
+        this.fixed = fixed;
+        this.openEnded = openEnded;
+        int cells = grafo.getRows() * grafo.getCols();
+        this.maxLength = openEnded ? Math.min(Math.max(maxLength, fixed.length), cells) : fixed.length;
+        this.trie = trie;
+        this.limite = limite;
+        this.emitted = emitted;
+        this.startCells = startCells != null ? startCells : initialCells(grafo, fixed);
+        this.nextStart = startFrom;
+        this.endStart = startTo >= 0 ? startTo : this.startCells.length;
+        this.path = new int[Math.max(1, this.maxLength)];
+        this.trieNode = new int[Math.max(1, this.maxLength)];
+        this.nextDir = new int[Math.max(1, this.maxLength)];
+        this.visited = new boolean[cells];
+        this.depth = 0;
+    }
+
+    private static char[] parseFixed(String pattern) {
+        return (pattern.endsWith(String.valueOf(SUFIJO)) ? pattern.substring(0, pattern.length() - 1) : pattern).toCharArray();
+    }
+
+    // Celdas iniciales: el índice por letra si la primera posición es fija, o todas si es un comodín
+    private static int[] initialCells(Grafo grafo, char[] fixed) {
+        if (fixed.length > 0 && fixed[0] != CUALQUIERA) {
+            return grafo.getStartCells(fixed[0]);
+        }
+        int[] all = new int[grafo.getRows() * grafo.getCols()];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i;
+        }
+        return all;
+    }
+
+    /**
+     * Verifica que un texto sea un patrón válido.
+     * @param pattern El patrón.
+     * @param alfabeto El alfabeto permitido en las posiciones fijas.
+     * @return null si es válido, o un mensaje que explica el problema.
+     */
+    static String validate(String pattern, Alfabeto alfabeto) {
+        if (pattern.isEmpty() || pattern.equals(String.valueOf(SUFIJO))) {
+            return "El patrón debe tener al menos una letra o '?'.";
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == SUFIJO && i != pattern.length() - 1) {
+                return "'*' solo se permite al final del patrón.";
+            }
+            if (c != SUFIJO && c != CUALQUIERA && !alfabeto.contains(c)) {
+                return "El carácter '" + c + "' no pertenece al alfabeto.";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Indica si un texto contiene comodines y debe tratarse como patrón.
+     * @param text El texto.
+     * @return true si contiene '?' o '*'.
+     */
+    static boolean isPattern(String text) {
+        return text.indexOf(CUALQUIERA) >= 0 || text.indexOf(SUFIJO) >= 0;
+    }
+
+    // Verifica si una celda cumple la posición 'index' del patrón
+    private boolean matches(int cell, int index) {
+        return index >= fixed.length || fixed[index] == CUALQUIERA || grafo.getValue(cell) == fixed[index];
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super CoincidenciaPatron> action) {
+        while (true) {
+            boolean pushed;
+            if (depth == 0) {
+                if (nextStart >= endStart) {
+                    return false;
+                }
+                int cell = startCells[nextStart++];
+                pushed = matches(cell, 0) && push(cell);
+            } else {
+                int top = depth - 1;
+                if (depth == maxLength || nextDir[top] == 8) {
+                    pop(); // Retroceder (backtrack)
+                    continue;
+                }
+                int neighbor = grafo.getNeighborCell(path[top], nextDir[top]++);
+                pushed = neighbor >= 0 && !visited[neighbor] && matches(neighbor, depth) && push(neighbor);
+            }
+            if (limite.isAgotado()) {
+                depth = 0;
+                nextStart = endStart;
+                return false;
+            }
+            if (pushed && depth >= fixed.length && (trie == null || trie.isWord(trieNode[depth - 1]))) {
+                String word = currentWord();
+                if (emitted.add(word)) {
+                    action.accept(new CoincidenciaPatron(word, Arrays.copyOf(path, depth)));
+                    return true;
+                }
+            }
+        }
+    }
+
+    // Añade una celda al camino; false si el trie no tiene ese prefijo o el límite se agotó
+    private boolean push(int cell) {
+        int node = TrieDiccionario.RAIZ;
+        if (trie != null) {
+            int code = trie.getAlfabeto().code(grafo.getValue(cell));
+            node = code < 0 ? TrieDiccionario.SIN_NODO
+                    : trie.child(depth == 0 ? TrieDiccionario.RAIZ : trieNode[depth - 1], code);
+            if (node == TrieDiccionario.SIN_NODO) {
+                return false; // Ninguna palabra del diccionario empieza así
+            }
+        }
+        if (!consume()) {
+            return false;
+        }
+        path[depth] = cell;
+        trieNode[depth] = node;
+        nextDir[depth] = 0;
+        visited[cell] = true;
+        depth++;
+        return true;
+    }
+
+    // Consume una expansión del lote reservado; al acabarse se reserva otro del límite compartido,
+    // para que las divisiones paralelas no compitan por el contador en cada expansión
+    private boolean consume() {
+        if (reservadas == 0) {
+            reservadas = limite.reserve(LimiteBusqueda.INTERVALO_RELOJ);
+            if (reservadas == 0) {
+                return false;
+            }
+        }
+        reservadas--;
+        return true;
+    }
+
+    private void pop() {
+        depth--;
+        visited[path[depth]] = false;
+    }
+
+    private String currentWord() {
+        char[] letters = new char[depth];
+        for (int i = 0; i < depth; i++) {
+            letters[i] = grafo.getValue(path[i]);
+        }
+        return new String(letters);
+    }
+
+    @Override
+    public Spliterator<CoincidenciaPatron> trySplit() {
+        // Solo se reparten las celdas iniciales que aún no se han empezado a explorar
+        int remaining = endStart - nextStart;
+        if (remaining < 2) {
+            return null;
+        }
+        int mid = nextStart + remaining / 2;
+        ConsultaPatron other = new ConsultaPatron(grafo, fixed, openEnded, maxLength, trie, limite, emitted,
+                startCells, mid, endStart);
+        endStart = mid;
+        return other;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE; // El número de coincidencias no se conoce de antemano
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL;
+    }
+}
@@ -0,0 +1,181 @@
+package com.mycompany.proyecto1;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cuenta los caminos simples que forman una palabra sin enumerarlos.
+ * En tableros de hasta 64 celdas usa programación dinámica memorizada sobre
+ * (celda, índice, conjunto de visitados); en tableros mayores calcula una cota
+ * superior contando recorridos, que es exacta cuando la palabra no repite letras.
+ */
+class ContadorOcurrencias {
+
+    private static final int MAX_CELDAS_EXACTO = 64;        // Cabe el conjunto de visitados en un long
+    private static final int MAX_ESTADOS_MEMO = 1 << 20;   // Límite de estados memorizados antes de usar la cota
+
+    private final Grafo grafo;
+    private final String word;
+    private final int cells;
+
+    private long[] suffixMask;           // Celdas cuya letra aparece en word[i + 1 ..]
+    private Map<Estado, Long> memo;
+    private boolean saturated;
+    private boolean memoOverflow;
+
+    /**
+     * Estado de la programación dinámica: el camino termina en 'cell' con la letra 'index'
+     * y ya usó las celdas de 'visited' que todavía pueden importar.
+     */
+    private static final class Estado {
+        private final int cell;
+        private final int index;
+        private final long visited;
+
+        Estado(int cell, int index, long visited) {
+            this.cell = cell;
+            this.index = index;
+            this.visited = visited;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Estado)) return false;
+            Estado e = (Estado) o;
+            return cell == e.cell && index == e.index && visited == e.visited;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * cell + index) * 31 + Long.hashCode(visited);
+        }
+    }
+
+    ContadorOcurrencias(Grafo grafo, String word) {
+        this.grafo = grafo;
+        this.word = word;
+        this.cells = grafo.getRows() * grafo.getCols();
+    }
+
+    /**
+     * Calcula el número de caminos simples que forman la palabra.
+     * @return El resultado del conteo.
+     */
+    ResultadoConteo count() {
+        if (word == null || word.isEmpty()) {
+            return new ResultadoConteo(0, true, false);
+        }
+        if (cells <= MAX_CELDAS_EXACTO) {
+            ResultadoConteo exact = countExact();
+            if (exact != null) {
+                return exact;
+            }
+        }
+        return countWalks();
+    }
+
+    // Conteo exacto memorizado; devuelve null si se supera el límite de estados
+    private ResultadoConteo countExact() {
+        int length = word.length();
+        suffixMask = new long[length];
+        for (int i = length - 2; i >= 0; i--) {
+            suffixMask[i] = suffixMask[i + 1];
+            for (int cell : grafo.getStartCells(word.charAt(i + 1))) {
+                suffixMask[i] |= 1L << cell;
+            }
+        }
+        memo = new HashMap<>();
+        saturated = false;
+        memoOverflow = false;
+
+        long total = 0;
+        for (int cell : grafo.getStartCells(word.charAt(0))) {
+            if (memoOverflow) {
+                break;
+            }
+            total = add(total, countFrom(cell, 0, 1L << cell));
+        }
+        if (memoOverflow) {
+            return null;
+        }
+        return new ResultadoConteo(total, true, saturated);
+    }
+
+    private long countFrom(int cell, int index, long visited) {
+        if (index == word.length() - 1) {
+            return 1;
+        }
+        // Solo importan las celdas visitadas cuya letra aún puede aparecer en el resto de la palabra
+        Estado key = new Estado(cell, index, visited & suffixMask[index]);
+        Long cached = memo.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (memo.size() >= MAX_ESTADOS_MEMO) {
+            memoOverflow = true;
+            return 0;
+        }
+
+        long total = 0;
+        char nextLetter = word.charAt(index + 1);
+        for (int i = 0; i < 8 && !memoOverflow; i++) {
+            int neighbor = grafo.getNeighborCell(cell, i);
+            if (neighbor >= 0 && (visited & (1L << neighbor)) == 0 && grafo.getValue(neighbor) == nextLetter) {
+                total = add(total, countFrom(neighbor, index + 1, visited | (1L << neighbor)));
+            }
+        }
+        memo.put(key, total);
+        return total;
+    }
+
+    // Cota superior: cuenta recorridos (pueden repetir celdas) con DP sobre (celda, índice)
+    private ResultadoConteo countWalks() {
+        saturated = false;
+        long[] ways = new long[cells];
+        for (int cell : grafo.getStartCells(word.charAt(0))) {
+            ways[cell] = 1;
+        }
+        for (int index = 1; index < word.length(); index++) {
+            long[] next = new long[cells];
+            char letter = word.charAt(index);
+            for (int cell = 0; cell < cells; cell++) {
+                if (ways[cell] == 0) {
+                    continue;
+                }
+                for (int i = 0; i < 8; i++) {
+                    int neighbor = grafo.getNeighborCell(cell, i);
+                    if (neighbor >= 0 && grafo.getValue(neighbor) == letter) {
+                        next[neighbor] = add(next[neighbor], ways[cell]);
+                    }
+                }
+            }
+            ways = next;
+        }
+        long total = 0;
+        for (long w : ways) {
+            total = add(total, w);
+        }
+        // Si la palabra no repite letras, un recorrido nunca puede repetir celdas
+        return new ResultadoConteo(total, hasDistinctLetters(), saturated);
+    }
+
+    // Suma con saturación en Long.MAX_VALUE
+    private long add(long a, long b) {
+        long sum = a + b;
+        if (sum < 0) {
+            saturated = true;
+            return Long.MAX_VALUE;
+        }
+        return sum;
+    }
+
+    private boolean hasDistinctLetters() {
+        for (int i = 0; i < word.length(); i++) {
+            if (word.indexOf(word.charAt(i), i + 1) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
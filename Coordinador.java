@@ -0,0 +1,359 @@
+package com.mycompany.proyecto1;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coordinador de la resolución distribuida del diccionario.
+ * Reparte el trabajo en fragmentos (por palabras del diccionario o por celdas iniciales del
+ * tablero) entre varios procesos Trabajador, locales o alcanzables por socket, reúne los
+ * resultados parciales y reintenta en otro trabajador cualquier fragmento cuyo trabajador
+ * muera o deje de responder.
+ *
+ * Uso: java com.mycompany.proyecto1.Coordinador --archivo sopa.txt [--trabajadores 2]
+ *      [--hosts host:puerto,host:puerto] [--fragmentos 8] [--modo PALABRAS|CELDAS]
+ *      [--algoritmo DFS|BFS] [--tiempo 2000] [--expansiones 5000000] [--reintentos 3]
+ *      [--salida resultados.txt]
+ *
+ * Sin --hosts se inician --trabajadores procesos locales con el mismo classpath. Los
+ * trabajadores de --hosts en otras máquinas deben iniciarse con --direccion, porque por
+ * defecto solo aceptan conexiones locales.
+ */
+public class Coordinador {
+
+    /**
+     * Forma de repartir el trabajo entre los trabajadores.
+     */
+    public enum Modo {
+        PALABRAS, // Cada fragmento tiene unas palabras del diccionario y todas las celdas
+        CELDAS    // Cada fragmento tiene todo el diccionario y un rango de celdas iniciales
+    }
+
+    private static final long ESPERA_EXTRA_MS = 30_000; // Margen sobre el tiempo máximo de un fragmento
+
+    private final char[][] board;
+    private final Alfabeto alfabeto;
+    private final List<String> words;
+    private final Modo modo;
+    private final boolean useBfs;
+    private final long timeoutMillis;
+    private final long maxExpansions;
+    private final int maxIntentos;
+
+    // Estado de una ejecución
+    private ResultadoFragmento resultado;
+    private BlockingQueue<TareaFragmento> pendientes;
+    private AtomicInteger sinTerminar;
+    private final List<String> fallos = new ArrayList<>();
+    private final AtomicInteger reintentos = new AtomicInteger();
+
+    /**
+     * Constructor para el coordinador.
+     * @param board El tablero.
+     * @param alfabeto El alfabeto del tablero y del diccionario.
+     * @param words Las palabras del diccionario.
+     * @param modo La forma de repartir el trabajo.
+     * @param useBfs true para buscar con BFS (solo en modo PALABRAS), false para DFS.
+     * @param timeoutMillis Límite de tiempo por palabra; 0 para no limitar.
+     * @param maxExpansions Límite de expansiones por palabra; 0 para no limitar.
+     * @param maxIntentos Máximo de envíos de un mismo fragmento antes de darlo por fallido.
+     */
+    public Coordinador(char[][] board, Alfabeto alfabeto, List<String> words, Modo modo, boolean useBfs,
+                       long timeoutMillis, long maxExpansions, int maxIntentos) {
+        if (!alfabeto.covers(board)) {
+            throw new IllegalArgumentException("El tablero contiene letras fuera del alfabeto.");
+        }
+        this.board = board;
+        this.alfabeto = alfabeto;
+        this.words = words;
+        this.modo = modo;
+        this.useBfs = useBfs;
+        this.timeoutMillis = timeoutMillis;
+        this.maxExpansions = maxExpansions;
+        this.maxIntentos = maxIntentos;
+    }
+
+    // Divide el trabajo en fragmentos según el modo
+    private List<TareaFragmento> split(int fragmentos) {
+        List<TareaFragmento> tareas = new ArrayList<>();
+        int cells = board.length * board[0].length;
+        if (modo == Modo.PALABRAS) {
+            int parts = Math.max(1, Math.min(fragmentos, words.size()));
+            for (int i = 0; i < parts; i++) {
+                int from = (int) ((long) words.size() * i / parts);
+                int to = (int) ((long) words.size() * (i + 1) / parts);
+                tareas.add(new TareaFragmento(i, board, alfabeto.toString(), useBfs, timeoutMillis, maxExpansions,
+                        0, cells, from, new ArrayList<>(words.subList(from, to))));
+            }
+        } else {
+            int parts = Math.max(1, Math.min(fragmentos, cells));
+            for (int i = 0; i < parts; i++) {
+                int from = cells * i / parts;
+                int to = cells * (i + 1) / parts;
+                tareas.add(new TareaFragmento(i, board, alfabeto.toString(), false, timeoutMillis, maxExpansions,
+                        from, to, 0, words));
+            }
+        }
+        return tareas;
+    }
+
+    /**
+     * Resuelve todo el diccionario repartiéndolo entre los trabajadores indicados.
+     * @param trabajadores Las direcciones de los trabajadores.
+     * @param fragmentos Número de fragmentos en que se divide el trabajo.
+     * @return El estado y el camino de cada palabra del diccionario.
+     * @throws IOException Si algún fragmento falló en todos sus intentos o murieron todos los trabajadores.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    public ResultadoFragmento solve(List<InetSocketAddress> trabajadores, int fragmentos)
+            throws IOException, InterruptedException {
+        List<TareaFragmento> tareas = split(fragmentos);
+        resultado = new ResultadoFragmento(-1, words.size());
+        pendientes = new LinkedBlockingQueue<>(tareas);
+        sinTerminar = new AtomicInteger(tareas.size());
+        fallos.clear();
+        reintentos.set(0);
+
+        List<Thread> threads = new ArrayList<>();
+        for (InetSocketAddress address : trabajadores) {
+            Thread thread = new Thread(() -> serveWorker(address), "coordinador-" + address);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        if (!fallos.isEmpty()) {
+            throw new IOException("Fragmentos sin resolver: " + String.join("; ", fallos));
+        }
+        if (sinTerminar.get() > 0) {
+            throw new IOException("Todos los trabajadores fallaron; quedaron " + sinTerminar.get() + " fragmentos sin resolver.");
+        }
+        return resultado;
+    }
+
+    // Envía fragmentos a un trabajador, uno a la vez, hasta que no quede ninguno o el trabajador falle
+    private void serveWorker(InetSocketAddress address) {
+        try (Socket socket = new Socket()) {
+            socket.connect(address, 10_000);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+            while (sinTerminar.get() > 0) {
+                TareaFragmento tarea = pendientes.poll(100, TimeUnit.MILLISECONDS);
+                if (tarea == null) {
+                    continue; // Puede volver un fragmento de un trabajador que falló
+                }
+                tarea.addIntento();
+                // Si el trabajador no responde a tiempo se considera muerto
+                socket.setSoTimeout(tarea.getTimeoutMillis() > 0
+                        ? (int) Math.min(Integer.MAX_VALUE, tarea.getTimeoutMillis() * tarea.getWordCount() + ESPERA_EXTRA_MS)
+                        : 0);
+                try {
+                    tarea.writeTo(out);
+                    merge(tarea, ResultadoFragmento.readFrom(in, board.length * board[0].length));
+                } catch (IOException | RuntimeException e) {
+                    // Una respuesta dañada cuenta como un trabajador muerto: el fragmento se reintenta
+                    retry(tarea, address, e);
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("No se pudo usar el trabajador " + address + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Devuelve a la cola un fragmento cuyo trabajador falló, o lo da por fallido tras demasiados intentos
+    private void retry(TareaFragmento tarea, InetSocketAddress address, Exception e) {
+        System.err.println("El trabajador " + address + " falló con el fragmento " + tarea.getId() + ": " + e);
+        if (tarea.getIntentos() >= maxIntentos) {
+            synchronized (fallos) {
+                fallos.add("fragmento " + tarea.getId() + " tras " + tarea.getIntentos() + " intentos");
+            }
+            sinTerminar.decrementAndGet();
+        } else {
+            reintentos.incrementAndGet();
+            pendientes.add(tarea);
+        }
+    }
+
+    // Copia el resultado de un fragmento en el resultado total; rechaza respuestas de otro fragmento
+    private void merge(TareaFragmento tarea, ResultadoFragmento parcial) throws IOException {
+        if (parcial.getId() != tarea.getId() || parcial.size() != tarea.getWordCount()) {
+            throw new IOException("Respuesta del fragmento " + parcial.getId() + " con " + parcial.size()
+                    + " palabras para el fragmento " + tarea.getId() + " con " + tarea.getWordCount());
+        }
+        synchronized (resultado) {
+            for (int i = 0; i < parcial.size(); i++) {
+                resultado.merge(tarea.getFirstWord() + i, parcial.getEstado(i), parcial.getPath(i));
+            }
+        }
+        sinTerminar.decrementAndGet();
+    }
+
+    /**
+     * Obtiene cuántos fragmentos se volvieron a enviar en la última ejecución.
+     * @return El número de reintentos.
+     */
+    public int getReintentos() {
+        return reintentos.get();
+    }
+
+    /**
+     * Inicia un proceso Trabajador en esta máquina con el mismo classpath y espera su puerto.
+     * @return El proceso iniciado.
+     * @throws IOException Si el proceso no se pudo iniciar o no informó su puerto.
+     */
+    public static Process startLocalWorker() throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                Trabajador.class.getName(), "--puerto", "0");
+        builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        return builder.start();
+    }
+
+    /**
+     * Lee el puerto que informa un Trabajador local al iniciar.
+     * @param process El proceso del trabajador.
+     * @return La dirección local del trabajador.
+     * @throws IOException Si el proceso terminó sin informar su puerto.
+     */
+    public static InetSocketAddress readLocalPort(Process process) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        if (line == null || !line.startsWith("PUERTO ")) {
+            throw new IOException("El trabajador local no informó su puerto.");
+        }
+        return new InetSocketAddress("127.0.0.1", Integer.parseInt(line.substring("PUERTO ".length()).trim()));
+    }
+
+    public static void main(String[] args) {
+        String archivo = null;
+        int locales = 2;
+        String hosts = null;
+        int fragmentos = 0;
+        Modo modo = Modo.PALABRAS;
+        boolean useBfs = false;
+        long timeoutMillis = 2000;
+        long maxExpansions = 5_000_000;
+        int maxIntentos = 3;
+        String salida = null;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--archivo": archivo = value; break;
+                case "--trabajadores": locales = Integer.parseInt(value); break;
+                case "--hosts": hosts = value; break;
+                case "--fragmentos": fragmentos = Integer.parseInt(value); break;
+                case "--modo": modo = Modo.valueOf(value.toUpperCase()); break;
+                case "--algoritmo": useBfs = value.equalsIgnoreCase("BFS"); break;
+                case "--tiempo": timeoutMillis = Long.parseLong(value); break;
+                case "--expansiones": maxExpansions = Long.parseLong(value); break;
+                case "--reintentos": maxIntentos = Integer.parseInt(value); break;
+                case "--salida": salida = value; break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(1);
+            }
+        }
+        if (archivo == null) {
+            System.err.println("Falta la opción --archivo <archivo>.");
+            System.exit(1);
+        }
+
+        Alfabeto alfabeto = new Alfabeto(System.getProperty("sopa.alfabeto", Alfabeto.ESPANOL.toString()));
+        List<Process> procesos = new ArrayList<>();
+        int status = 0;
+        try {
+            ReporteValidacion reporte = new ReporteValidacion();
+            ArchivoSopa sopa = ArchivoSopa.leer(new File(archivo), alfabeto, 3, reporte);
+            if (!reporte.isEmpty()) {
+                System.err.print(reporte);
+            }
+            if (sopa == null || sopa.getBoard() == null || sopa.getWords().isEmpty()) {
+                System.exit(1);
+            }
+
+            List<InetSocketAddress> trabajadores = new ArrayList<>();
+            if (hosts != null) {
+                for (String host : hosts.split(",")) {
+                    int colon = host.lastIndexOf(':');
+                    trabajadores.add(new InetSocketAddress(host.substring(0, colon), Integer.parseInt(host.substring(colon + 1))));
+                }
+            } else {
+                for (int i = 0; i < locales; i++) {
+                    procesos.add(startLocalWorker());
+                }
+                for (Process proceso : procesos) {
+                    trabajadores.add(readLocalPort(proceso));
+                }
+            }
+            if (fragmentos <= 0) {
+                fragmentos = 4 * trabajadores.size(); // Varios por trabajador para equilibrar la carga
+            }
+
+            Coordinador coordinador = new Coordinador(sopa.getBoard(), alfabeto, sopa.getWords(), modo, useBfs,
+                    timeoutMillis, maxExpansions, maxIntentos);
+            long start = System.nanoTime();
+            ResultadoFragmento resultado = coordinador.solve(trabajadores, fragmentos);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            int found = 0;
+            int incomplete = 0;
+            for (int i = 0; i < resultado.size(); i++) {
+                if (resultado.getEstado(i) == EstadoBusqueda.FOUND) {
+                    found++;
+                } else if (resultado.getEstado(i) != EstadoBusqueda.NOT_FOUND) {
+                    incomplete++;
+                }
+            }
+            System.out.println("Trabajadores: " + trabajadores.size() + ", fragmentos: " + fragmentos
+                    + " (modo " + modo + "), reintentos: " + coordinador.getReintentos());
+            System.out.println("Palabras: " + resultado.size() + ", encontradas: " + found + ", incompletas: " + incomplete);
+            System.out.printf("Tiempo: %.3f s, rendimiento: %.0f palabras/s%n", seconds, resultado.size() / seconds);
+
+            if (salida != null) {
+                try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(salida), StandardCharsets.UTF_8), 1 << 16)) {
+                    for (int i = 0; i < resultado.size(); i++) {
+                        writer.write(sopa.getWords().get(i) + "\t" + ModeloResultados.describeEstado(resultado.getEstado(i)) + "\n");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            status = 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = 1;
+        } finally {
+            // Los trabajadores locales no deben sobrevivir al coordinador
+            for (Process proceso : procesos) {
+                proceso.destroy();
+            }
+        }
+        System.exit(status);
+    }
+}
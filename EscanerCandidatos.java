@@ -0,0 +1,60 @@
+package com.mycompany.proyecto1;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Escaneo de celdas candidatas (las que contienen una letra dada) sobre el tablero empaquetado
+ * como un byte por celda. Compara 8 celdas a la vez dentro de un long (SWAR: "SIMD dentro de
+ * un registro") y procesa las celdas sobrantes con un bucle escalar.
+ */
+final class EscanerCandidatos {
+
+    // Permite leer 8 bytes consecutivos del tablero como un long
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long UNOS = 0x0101010101010101L;
+    private static final long SIETE_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    private EscanerCandidatos() {
+    }
+
+    /**
+     * Obtiene los índices de todas las celdas que contienen una letra.
+     * @param packed El tablero empaquetado, un byte por celda en orden fila por fila.
+     * @param letter La letra (ya convertida a byte) a buscar.
+     * @return Los índices de celda en orden creciente.
+     */
+    static int[] scan(byte[] packed, byte letter) {
+        int[] result = new int[16];
+        int count = 0;
+        long pattern = (letter & 0xFFL) * UNOS;
+        int i = 0;
+
+        for (; i + 8 <= packed.length; i += 8) {
+            long x = (long) LONGS.get(packed, i) ^ pattern; // Byte cero donde la celda coincide
+            // Marca con 0x80 exactamente los bytes que valen cero (sin falsos positivos)
+            long zeros = ~(((x & SIETE_BITS) + SIETE_BITS) | x | SIETE_BITS);
+            while (zeros != 0) {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, count * 2);
+                }
+                result[count++] = i + (Long.numberOfTrailingZeros(zeros) >>> 3);
+                zeros &= zeros - 1;
+            }
+        }
+
+        // Celdas restantes (menos de 8) con el método escalar
+        for (; i < packed.length; i++) {
+            if (packed[i] == letter) {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, count * 2);
+                }
+                result[count++] = i;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
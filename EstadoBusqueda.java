@@ -0,0 +1,11 @@
+package com.mycompany.proyecto1;
+
+/**
+ * Posibles desenlaces de una búsqueda con límites de tiempo o de expansiones.
+ */
+public enum EstadoBusqueda {
+    FOUND,           // Se encontró un camino para la palabra
+    NOT_FOUND,       // Se exploró todo y la palabra no está en el tablero
+    TIMED_OUT,       // Se alcanzó la fecha límite antes de terminar
+    BUDGET_EXCEEDED  // Se agotó el presupuesto de expansiones de nodos antes de terminar
+}
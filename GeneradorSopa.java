@@ -0,0 +1,284 @@
+package com.mycompany.proyecto1;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generador de cargas sintéticas (tablero + diccionario) en el formato
+ * {@code <dic>}/{@code <tab>} que lee Buscador.parseFile.
+ * Las palabras plantadas se colocan sobre caminos simples aleatorios del tablero;
+ * las palabras señuelo se generan y escriben en streaming, por lo que el diccionario
+ * puede ocupar varios gigabytes sin guardarse en memoria. Con la misma semilla
+ * se obtiene exactamente el mismo archivo.
+ *
+ * Uso: java com.mycompany.proyecto1.GeneradorSopa --salida archivo.txt [--filas 4] [--columnas 4]
+ *      [--distribucion UNIFORME|ESPANOL|ADVERSARIA] [--plantadas 5] [--senuelos 5]
+ *      [--min 3] [--max 8] [--semilla 42]
+ *
+ * Nota: Buscador solo acepta tableros de 4x4; otras dimensiones sirven para pruebas de Grafo.
+ */
+public class GeneradorSopa {
+
+    /**
+     * Distribución de letras usada para el tablero y los señuelos.
+     */
+    public enum Distribucion {
+        UNIFORME,   // Todas las letras con la misma probabilidad
+        ESPANOL,    // Frecuencia de letras del español
+        ADVERSARIA  // Una sola letra ('A'): peor caso para las búsquedas de caminos
+    }
+
+    static final String LETRAS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    // Frecuencia aproximada (en %) de cada letra A-Z en textos en español
+    static final double[] FRECUENCIA_ESPANOL = {
+        12.53, 1.42, 4.68, 5.86, 13.68, 0.69, 1.01, 0.70, 6.25, 0.44, 0.02, 4.97, 3.15,
+        6.71, 8.68, 2.51, 0.88, 6.87, 7.98, 4.63, 3.93, 0.90, 0.01, 0.22, 0.90, 0.52
+    };
+
+    private static final int MAX_INTENTOS_CAMINO = 100; // Intentos para plantar cada palabra
+
+    private final int rows;
+    private final int cols;
+    private final Distribucion distribucion;
+    private final int plantedWords;
+    private final long decoyWords;
+    private final int minLength;
+    private final int maxLength;
+    private final Random random;
+    private final double[] acumulada; // Distribución acumulada para muestrear letras
+
+    /**
+     * Constructor para el generador.
+     * @param rows Número de filas del tablero.
+     * @param cols Número de columnas del tablero.
+     * @param distribucion La distribución de letras.
+     * @param plantedWords Número de palabras a plantar sobre caminos del tablero.
+     * @param decoyWords Número de palabras señuelo (aleatorias) del diccionario.
+     * @param minLength Longitud mínima de las palabras.
+     * @param maxLength Longitud máxima de las palabras (se recorta al número de celdas del tablero).
+     * @param seed La semilla para reproducir exactamente la carga.
+     * @throws IllegalArgumentException Si las dimensiones no son positivas o el rango de longitudes,
+     * ya recortado, queda vacío.
+     */
+    public GeneradorSopa(int rows, int cols, Distribucion distribucion, int plantedWords, long decoyWords,
+                         int minLength, int maxLength, long seed) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Las dimensiones del tablero deben ser positivas.");
+        }
+        // Una palabra plantada no puede usar más celdas que las del tablero
+        maxLength = Math.min(maxLength, rows * cols);
+        if (minLength < 1 || maxLength < minLength) {
+            throw new IllegalArgumentException("Rango de longitudes de palabra inválido para un tablero de "
+                    + rows + "x" + cols + ": " + minLength + " a " + maxLength + ".");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.distribucion = distribucion;
+        this.plantedWords = plantedWords;
+        this.decoyWords = decoyWords;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.random = new Random(seed);
+        this.acumulada = buildAcumulada(distribucion);
+    }
+
+    private static double[] buildAcumulada(Distribucion distribucion) {
+        double[] acc = new double[LETRAS.length()];
+        double total = 0;
+        for (int i = 0; i < acc.length; i++) {
+            total += distribucion == Distribucion.ESPANOL ? FRECUENCIA_ESPANOL[i] : 1.0;
+            acc[i] = total;
+        }
+        for (int i = 0; i < acc.length; i++) {
+            acc[i] /= total;
+        }
+        return acc;
+    }
+
+    // Muestrea una letra según la distribución configurada
+    private char randomLetter() {
+        if (distribucion == Distribucion.ADVERSARIA) {
+            return 'A';
+        }
+        double x = random.nextDouble();
+        int lo = 0;
+        int hi = acumulada.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (acumulada[mid] < x) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return LETRAS.charAt(lo);
+    }
+
+    private int randomLength() {
+        return minLength + random.nextInt(maxLength - minLength + 1);
+    }
+
+    /**
+     * Genera la carga y la escribe en el destino indicado.
+     * @param out El destino de la escritura.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    public void generate(Writer out) throws IOException {
+        char[][] board = new char[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                board[r][c] = randomLetter();
+            }
+        }
+
+        // Plantar palabras sobre caminos simples aleatorios; las celdas ya usadas por otra
+        // palabra plantada conservan su letra para que todas sigan presentes en el tablero
+        List<String> planted = new ArrayList<>();
+        boolean[][] fixed = new boolean[rows][cols];
+        for (int i = 0; i < plantedWords; i++) {
+            String word = plantWord(board, fixed, randomLength());
+            if (word != null) {
+                planted.add(word);
+            }
+        }
+
+        out.write("<dic>\n");
+        for (String word : planted) {
+            out.write(word);
+            out.write('\n');
+        }
+        // Los señuelos se generan y escriben uno a uno, sin guardarse
+        StringBuilder sb = new StringBuilder();
+        for (long i = 0; i < decoyWords; i++) {
+            sb.setLength(0);
+            int length = randomLength();
+            for (int j = 0; j < length; j++) {
+                sb.append(randomLetter());
+            }
+            sb.append('\n');
+            out.write(sb.toString());
+        }
+        out.write("</dic>\n");
+
+        out.write("<tab>\n");
+        for (int r = 0; r < rows; r++) {
+            out.write(board[r]);
+            out.write('\n');
+        }
+        out.write("</tab>\n");
+        out.flush();
+    }
+
+    /**
+     * Escoge un camino simple aleatorio y escribe en él una palabra nueva.
+     * @param board El tablero a modificar.
+     * @param fixed Celdas que pertenecen a palabras plantadas antes y no deben cambiar.
+     * @param length La longitud deseada de la palabra.
+     * @return La palabra plantada, o null si no se encontró un camino de esa longitud.
+     */
+    private String plantWord(char[][] board, boolean[][] fixed, int length) {
+        int[] dRow = {-1, -1, -1, 0, 0, 1, 1, 1};
+        int[] dCol = {-1, 0, 1, -1, 1, -1, 0, 1};
+
+        for (int attempt = 0; attempt < MAX_INTENTOS_CAMINO; attempt++) {
+            int[] pathRows = new int[length];
+            int[] pathCols = new int[length];
+            pathRows[0] = random.nextInt(rows);
+            pathCols[0] = random.nextInt(cols);
+            int size = 1;
+
+            while (size < length) {
+                // Elegir un vecino aleatorio que no esté ya en el camino
+                int start = random.nextInt(8);
+                boolean extended = false;
+                for (int k = 0; k < 8 && !extended; k++) {
+                    int d = (start + k) % 8;
+                    int nr = pathRows[size - 1] + dRow[d];
+                    int nc = pathCols[size - 1] + dCol[d];
+                    if (nr < 0 || nr >= rows || nc < 0 || nc >= cols || inPath(pathRows, pathCols, size, nr, nc)) {
+                        continue;
+                    }
+                    pathRows[size] = nr;
+                    pathCols[size] = nc;
+                    size++;
+                    extended = true;
+                }
+                if (!extended) {
+                    break; // Camino sin salida; se vuelve a intentar desde otra celda
+                }
+            }
+
+            if (size == length) {
+                StringBuilder word = new StringBuilder(length);
+                for (int i = 0; i < length; i++) {
+                    int r = pathRows[i];
+                    int c = pathCols[i];
+                    if (!fixed[r][c]) {
+                        board[r][c] = randomLetter();
+                        fixed[r][c] = true;
+                    }
+                    word.append(board[r][c]);
+                }
+                return word.toString();
+            }
+        }
+        return null;
+    }
+
+    private static boolean inPath(int[] pathRows, int[] pathCols, int size, int r, int c) {
+        for (int i = 0; i < size; i++) {
+            if (pathRows[i] == r && pathCols[i] == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void main(String[] args) {
+        int rows = 4;
+        int cols = 4;
+        Distribucion distribucion = Distribucion.UNIFORME;
+        int planted = 5;
+        long decoys = 5;
+        int minLength = 3;
+        int maxLength = 8;
+        long seed = 42;
+        String output = null;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--filas": rows = Integer.parseInt(value); break;
+                case "--columnas": cols = Integer.parseInt(value); break;
+                case "--distribucion": distribucion = Distribucion.valueOf(value.toUpperCase()); break;
+                case "--plantadas": planted = Integer.parseInt(value); break;
+                case "--senuelos": decoys = Long.parseLong(value); break;
+                case "--min": minLength = Integer.parseInt(value); break;
+                case "--max": maxLength = Integer.parseInt(value); break;
+                case "--semilla": seed = Long.parseLong(value); break;
+                case "--salida": output = value; break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(1);
+            }
+        }
+        if (output == null) {
+            System.err.println("Falta la opción --salida <archivo>.");
+            System.exit(1);
+        }
+
+        GeneradorSopa generador = new GeneradorSopa(rows, cols, distribucion, planted, decoys, minLength, maxLength, seed);
+        try (Writer writer = new BufferedWriter(new FileWriter(output), 1 << 16)) {
+            generador.generate(writer);
+        } catch (IOException e) {
+            System.err.println("Error al escribir el archivo: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.mycompany.proyecto1;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generador de tableros que optimiza cuántas palabras del diccionario contienen.
+ * Usa recocido simulado: cada paso cambia la letra de una sola celda, y el tablero candidato
+ * se evalúa con SolucionDiccionario.updateCell, que solo vuelve a buscar las palabras
+ * afectadas por esa celda. El cambio se acepta si mejora el objetivo, o con probabilidad
+ * exp(-empeora / temperatura) si lo empeora; la temperatura baja geométricamente.
+ *
+ * Se ejecutan varias cadenas independientes (con semillas distintas) en paralelo, una por
+ * hilo, y se devuelven los mejores tableros de todas. El objetivo puede ser maximizar las
+ * palabras encontradas o su puntaje, o acercarse a una meta (dificultad) dada.
+ * Los tableros se exportan en el formato {@code <dic>}/{@code <tab>} que lee Buscador.parseFile,
+ * y solo los que contienen al menos una palabra (un {@code <dic>} vacío no sirve para jugar).
+ *
+ * Nota: Buscador solo acepta tableros de 4x4; otras dimensiones sirven para pruebas de Grafo.
+ */
+public class GeneradorTableros {
+
+    /**
+     * Valor que se optimiza en cada tablero.
+     */
+    public enum Objetivo {
+        PALABRAS, // Número de palabras del diccionario encontradas
+        PUNTAJE   // Suma de los puntajes (Puntuacion) de las palabras encontradas
+    }
+
+    private final int rows;
+    private final int cols;
+    private final Alfabeto alfabeto;
+    private final List<String> words;
+    private final Map<String, Integer> values;  // Aporte de cada palabra al objetivo cuando se encuentra
+    private final Objetivo objetivo;
+    private final long meta;                    // Valor buscado; -1 para maximizar
+    private final long maxExpansions;           // Límite de expansiones por palabra buscada
+    private final double[] acumulada;           // Distribución acumulada de letras del diccionario, por código
+
+    /**
+     * Constructor para el generador.
+     * @param rows Número de filas del tablero.
+     * @param cols Número de columnas del tablero.
+     * @param alfabeto El alfabeto del tablero y del diccionario.
+     * @param words Las palabras del diccionario.
+     * @param objetivo El valor que se optimiza.
+     * @param meta El valor buscado (por ejemplo, un número de palabras para una dificultad dada), o -1 para maximizar.
+     * @param maxExpansions Límite de expansiones por palabra buscada; las palabras que lo agotan cuentan como no encontradas.
+     * @throws IllegalArgumentException Si las dimensiones no son positivas, el diccionario está vacío
+     * o alguna palabra tiene letras fuera del alfabeto.
+     */
+    public GeneradorTableros(int rows, int cols, Alfabeto alfabeto, List<String> words, Objetivo objetivo,
+                             long meta, long maxExpansions) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Las dimensiones del tablero deben ser positivas.");
+        }
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("El diccionario está vacío.");
+        }
+        for (String word : words) {
+            if (alfabeto.encode(word) == null) {
+                throw new IllegalArgumentException("La palabra '" + word + "' tiene letras fuera del alfabeto.");
+            }
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.alfabeto = alfabeto;
+        this.words = new ArrayList<>(words);
+        this.objetivo = objetivo;
+        this.meta = meta;
+        this.maxExpansions = maxExpansions;
+
+        Puntuacion puntuacion = Puntuacion.porRareza(alfabeto);
+        this.values = new HashMap<>();
+        for (String word : this.words) {
+            values.put(word, objetivo == Objetivo.PUNTAJE ? puntuacion.score(word) : 1);
+        }
+
+        // Las letras nuevas se muestrean con la frecuencia que tienen en el diccionario
+        double[] acc = new double[alfabeto.size()];
+        for (String word : this.words) {
+            for (int i = 0; i < word.length(); i++) {
+                acc[alfabeto.code(word.charAt(i))]++;
+            }
+        }
+        double total = 0;
+        for (int code = 0; code < acc.length; code++) {
+            total += acc[code];
+            acc[code] = total;
+        }
+        for (int code = 0; code < acc.length; code++) {
+            acc[code] /= total;
+        }
+        this.acumulada = acc;
+    }
+
+    /**
+     * Ejecuta varias cadenas de recocido simulado en paralelo.
+     * @param cadenas Número de cadenas independientes.
+     * @param hilos Número de hilos.
+     * @param iteraciones Cambios de celda probados por cada cadena.
+     * @param temperaturaInicial Temperatura al empezar (en unidades del objetivo).
+     * @param temperaturaFinal Temperatura al terminar.
+     * @param seed La semilla; la cadena i usa seed + i, así que el resultado es reproducible.
+     * @return El mejor tablero de cada cadena, del mejor al peor.
+     * @throws InterruptedException Si se interrumpe la espera de las cadenas.
+     */
+    public List<Candidato> generate(int cadenas, int hilos, long iteraciones, double temperaturaInicial,
+                                    double temperaturaFinal, long seed) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, hilos));
+        try {
+            List<Callable<Candidato>> tareas = new ArrayList<>();
+            for (int i = 0; i < cadenas; i++) {
+                long chainSeed = seed + i;
+                tareas.add(() -> anneal(iteraciones, temperaturaInicial, temperaturaFinal, chainSeed));
+            }
+            List<Candidato> candidatos = new ArrayList<>();
+            for (Future<Candidato> future : executor.invokeAll(tareas)) {
+                try {
+                    candidatos.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Falló una cadena de recocido.", e.getCause());
+                }
+            }
+            candidatos.sort(Comparator.comparingDouble(this::energy));
+            return candidatos;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Energía a minimizar: el valor negado, o la distancia a la meta si hay una
+    private double energy(long value) {
+        return meta >= 0 ? Math.abs(value - meta) : -value;
+    }
+
+    private double energy(Candidato candidato) {
+        return energy(candidato.getValue());
+    }
+
+    // Una cadena de recocido simulado; devuelve el mejor tablero que visitó
+    private Candidato anneal(long iteraciones, double temperaturaInicial, double temperaturaFinal, long seed) {
+        Random random = new Random(seed);
+        char[][] board = new char[rows][cols];
+        for (char[] row : board) {
+            for (int c = 0; c < cols; c++) {
+                row[c] = randomLetter(random);
+            }
+        }
+        SolucionDiccionario solucion = new SolucionDiccionario(new Grafo(board, alfabeto), words, false,
+                () -> LimiteBusqueda.conExpansiones(maxExpansions));
+        long value = 0;
+        for (int id = 0; id < solucion.size(); id++) {
+            if (solucion.getEstado(id) == EstadoBusqueda.FOUND) {
+                value += values.get(solucion.getWord(id));
+            }
+        }
+        long bestValue = value;
+        char[][] best = snapshot(solucion.getGrafo());
+
+        double ratio = temperaturaFinal / temperaturaInicial;
+        for (long it = 0; it < iteraciones; it++) {
+            double temperatura = temperaturaInicial * Math.pow(ratio, (double) it / iteraciones);
+            int row = random.nextInt(rows);
+            int col = random.nextInt(cols);
+            char anterior = solucion.getGrafo().getValue(row * cols + col);
+            char letter = randomLetter(random);
+            if (letter == anterior) {
+                continue;
+            }
+
+            long candidate = value + delta(solucion.updateCell(row, col, letter));
+            double diferencia = energy(candidate) - energy(value);
+            if (diferencia <= 0 || random.nextDouble() < Math.exp(-diferencia / temperatura)) {
+                value = candidate;
+                if (energy(value) < energy(bestValue)) {
+                    bestValue = value;
+                    best = snapshot(solucion.getGrafo());
+                }
+            } else {
+                solucion.updateCell(row, col, anterior); // Rechazado: volver a la letra anterior
+            }
+        }
+        return new Candidato(best, foundWords(best), bestValue);
+    }
+
+    // Cambio del objetivo según las palabras que se ganaron o perdieron con un cambio de celda
+    private long delta(List<CambioResultado> cambios) {
+        long delta = 0;
+        for (CambioResultado cambio : cambios) {
+            boolean antes = cambio.getEstadoAnterior() == EstadoBusqueda.FOUND;
+            boolean ahora = cambio.getEstadoNuevo() == EstadoBusqueda.FOUND;
+            if (antes != ahora) {
+                delta += ahora ? values.get(cambio.getWord()) : -values.get(cambio.getWord());
+            }
+        }
+        return delta;
+    }
+
+    // Palabras del diccionario que aparecen en un tablero
+    private List<String> foundWords(char[][] board) {
+        Grafo grafo = new Grafo(board, alfabeto);
+        List<String> found = new ArrayList<>();
+        for (String word : words) {
+            if (grafo.searchWordDFS(word, LimiteBusqueda.conExpansiones(maxExpansions)).isFound()) {
+                found.add(word);
+            }
+        }
+        return found;
+    }
+
+    private char[][] snapshot(Grafo grafo) {
+        char[][] board = new char[rows][cols];
+        for (int cell = 0; cell < rows * cols; cell++) {
+            board[cell / cols][cell % cols] = grafo.getValue(cell);
+        }
+        return board;
+    }
+
+    // Muestrea una letra según su frecuencia en el diccionario
+    private char randomLetter(Random random) {
+        double x = random.nextDouble();
+        int lo = 0;
+        int hi = acumulada.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (acumulada[mid] < x) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return alfabeto.symbol(lo);
+    }
+
+    /**
+     * Escribe un tablero generado en el formato {@code <dic>}/{@code <tab>}.
+     * El diccionario escrito contiene solo las palabras que aparecen en el tablero.
+     * @param candidato El tablero generado.
+     * @param out El destino de la escritura.
+     * @throws IOException Si ocurre un error de escritura.
+     * @throws IllegalArgumentException Si el tablero no contiene ninguna palabra del diccionario.
+     */
+    public static void write(Candidato candidato, Writer out) throws IOException {
+        if (candidato.getWords().isEmpty()) {
+            throw new IllegalArgumentException("El tablero no contiene palabras del diccionario.");
+        }
+        out.write("<dic>\n");
+        for (String word : candidato.getWords()) {
+            out.write(word);
+            out.write('\n');
+        }
+        out.write("</dic>\n");
+        out.write("<tab>\n");
+        for (char[] row : candidato.getBoard()) {
+            out.write(row);
+            out.write('\n');
+        }
+        out.write("</tab>\n");
+        out.flush();
+    }
+
+    /**
+     * Un tablero generado con las palabras del diccionario que contiene.
+     */
+    public static class Candidato {
+        private final char[][] board;
+        private final List<String> words;
+        private final long value;
+
+        Candidato(char[][] board, List<String> words, long value) {
+            this.board = board;
+            this.words = words;
+            this.value = value;
+        }
+
+        /**
+         * Obtiene el tablero.
+         * @return La matriz de caracteres.
+         */
+        public char[][] getBoard() {
+            return board;
+        }
+
+        /**
+         * Obtiene las palabras del diccionario que aparecen en el tablero.
+         * @return Las palabras, en el orden del diccionario.
+         */
+        public List<String> getWords() {
+            return words;
+        }
+
+        /**
+         * Obtiene el valor del objetivo para este tablero.
+         * @return El número de palabras o la suma de sus puntajes, según el objetivo.
+         */
+        public long getValue() {
+            return value;
+        }
+    }
+
+    public static void main(String[] args) {
+        String archivo = null;
+        int rows = 4;
+        int cols = 4;
+        Objetivo objetivo = Objetivo.PALABRAS;
+        long meta = -1;
+        int hilos = Runtime.getRuntime().availableProcessors();
+        int cadenas = hilos;
+        int tableros = 1;
+        long iteraciones = 5000;
+        double temperaturaInicial = -1;
+        double temperaturaFinal = -1;
+        long maxExpansions = 100_000;
+        long seed = 42;
+        String output = null;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--diccionario": archivo = value; break;
+                case "--filas": rows = Integer.parseInt(value); break;
+                case "--columnas": cols = Integer.parseInt(value); break;
+                case "--objetivo": objetivo = Objetivo.valueOf(value.toUpperCase()); break;
+                case "--meta": meta = Long.parseLong(value); break;
+                case "--hilos": hilos = Integer.parseInt(value); break;
+                case "--cadenas": cadenas = Integer.parseInt(value); break;
+                case "--tableros": tableros = Integer.parseInt(value); break;
+                case "--iteraciones": iteraciones = Long.parseLong(value); break;
+                case "--temperatura": temperaturaInicial = Double.parseDouble(value); break;
+                case "--temperatura-final": temperaturaFinal = Double.parseDouble(value); break;
+                case "--expansiones": maxExpansions = Long.parseLong(value); break;
+                case "--semilla": seed = Long.parseLong(value); break;
+                case "--salida": output = value; break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(1);
+            }
+        }
+        if (archivo == null || output == null) {
+            System.err.println("Faltan las opciones --diccionario <archivo> y --salida <archivo>.");
+            System.exit(1);
+        }
+        // Por defecto la temperatura se mide en palabras; con puntajes cada palabra vale unos 10 puntos
+        double escala = objetivo == Objetivo.PUNTAJE ? 10 : 1;
+        if (temperaturaInicial <= 0) {
+            temperaturaInicial = 2.0 * escala;
+        }
+        if (temperaturaFinal <= 0) {
+            temperaturaFinal = 0.05 * escala;
+        }
+        if (rows != 4 || cols != 4) {
+            System.err.println("Aviso: Buscador solo carga tableros de 4x4; este " + rows + "x" + cols + " sirve para pruebas de Grafo.");
+        }
+
+        try {
+            Alfabeto alfabeto = new Alfabeto(System.getProperty("sopa.alfabeto", Alfabeto.ESPANOL.toString()));
+            ReporteValidacion reporte = new ReporteValidacion();
+            ArchivoSopa sopa = ArchivoSopa.leer(new File(archivo), alfabeto, 3, reporte);
+            if (sopa == null || sopa.getWords().isEmpty()) {
+                System.err.print(reporte);
+                System.exit(1);
+            }
+
+            GeneradorTableros generador = new GeneradorTableros(rows, cols, alfabeto, sopa.getWords(), objetivo,
+                    meta, maxExpansions);
+            System.out.printf("Tablero %dx%d, %d palabras, objetivo %s%s, %d cadenas en %d hilos%n", rows, cols,
+                    sopa.getWords().size(), objetivo, meta >= 0 ? " = " + meta : "", cadenas, hilos);
+            long inicio = System.nanoTime();
+            List<Candidato> candidatos = generador.generate(cadenas, hilos, iteraciones, temperaturaInicial,
+                    temperaturaFinal, seed);
+            System.out.printf("Tiempo: %.1f s%n", (System.nanoTime() - inicio) / 1e9);
+
+            // Los tableros sin ninguna palabra se saltan: su <dic> quedaría vacío
+            int escritos = 0;
+            for (Candidato candidato : candidatos) {
+                if (escritos == tableros) {
+                    break;
+                }
+                if (candidato.getWords().isEmpty()) {
+                    continue;
+                }
+                escritos++;
+                String nombre = tableros == 1 ? output : numbered(output, escritos);
+                try (Writer writer = new BufferedWriter(new FileWriter(nombre))) {
+                    write(candidato, writer);
+                }
+                System.out.printf("%s: valor %d, %d palabras%n", nombre, candidato.getValue(), candidato.getWords().size());
+            }
+            if (escritos < tableros) {
+                System.err.println("Solo " + escritos + " de " + tableros + " tableros contienen palabras del diccionario.");
+                if (escritos == 0) {
+                    System.exit(1);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        }
+    }
+
+    // Inserta un número antes de la extensión: "tablero.txt" -> "tablero-2.txt"
+    private static String numbered(String output, int n) {
+        int dot = output.lastIndexOf('.');
+        return dot > output.lastIndexOf(File.separatorChar)
+                ? output.substring(0, dot) + "-" + n + output.substring(dot)
+                : output + "-" + n;
+    }
+}
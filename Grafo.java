@@ -1,26 +1,50 @@
 package com.mycompany.proyecto1;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Representa el tablero de la sopa de letras como un grafo,
  * permitiendo la búsqueda de palabras usando algoritmos DFS y BFS.
+ * Es inmutable una vez construido: cualquier número de hilos puede buscar en el mismo
+ * Grafo a la vez sin sincronización. El estado de trabajo de cada búsqueda vive en
+ * un BufferBusqueda propio de cada hilo.
  */
 public class Grafo {
-    private Node[][] nodes; // Matriz de nodos que representa el tablero
-    private int rows;       // Número de filas del tablero
-    private int cols;       // Número de columnas del tablero
+    private final Node[][] nodes; // Matriz de nodos que representa el tablero
+    private final int rows;       // Número de filas del tablero
+    private final int cols;       // Número de columnas del tablero
+    private final Alfabeto alfabeto; // Alfabeto del tablero; cada letra tiene un código denso pequeño
+    private final byte[] packed;     // Tablero empaquetado (código de cada celda, fila por fila)
+    private final AtomicReferenceArray<int[]> startCellsCache; // Celdas candidatas ya calculadas para cada código de letra
 
     // Direcciones de los vecinos (8 direcciones: horizontal, vertical, diagonal)
-    private final int[] dRow = {-1, -1, -1, 0, 0, 1, 1, 1};
-    private final int[] dCol = {-1, 0, 1, -1, 1, -1, 0, 1};
+    private static final int[] dRow = {-1, -1, -1, 0, 0, 1, 1, 1};
+    private static final int[] dCol = {-1, 0, 1, -1, 1, -1, 0, 1};
 
     /**
      * Constructor para el grafo.
      * Inicializa el grafo a partir de una matriz de caracteres (el tablero).
+     * Usa el alfabeto español si cubre el tablero, o uno formado por sus letras en caso contrario.
      * @param board La matriz de caracteres del tablero de la sopa de letras.
      */
     public Grafo(char[][] board) {
+        this(board, Alfabeto.ESPANOL.covers(board) ? Alfabeto.ESPANOL : Alfabeto.of(board));
+    }
+
+    /**
+     * Constructor para el grafo con un alfabeto explícito.
+     * @param board La matriz de caracteres del tablero de la sopa de letras.
+     * @param alfabeto El alfabeto; debe contener todas las letras del tablero.
+     * @throws IllegalArgumentException Si el tablero contiene letras fuera del alfabeto.
+     */
+    public Grafo(char[][] board, Alfabeto alfabeto) {
+        if (!alfabeto.covers(board)) {
+            throw new IllegalArgumentException("El tablero contiene letras que no pertenecen al alfabeto.");
+        }
+        this.alfabeto = alfabeto;
         this.rows = board.length;
         this.cols = board[0].length;
         this.nodes = new Node[rows][cols];
@@ -31,6 +55,96 @@ public class Grafo {
                 nodes[r][c] = new Node(board[r][c], r, c);
             }
         }
+
+        // Empaquetar el tablero con los códigos del alfabeto para el escaneo rápido de celdas candidatas
+        this.packed = new byte[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                packed[r * cols + c] = (byte) alfabeto.code(board[r][c]);
+            }
+        }
+        this.startCellsCache = new AtomicReferenceArray<>(alfabeto.size());
+    }
+
+    /**
+     * Constructor para una copia del grafo con una celda cambiada.
+     * Comparte con el original las filas de nodos y las celdas candidatas que no cambian.
+     * @param base El grafo original.
+     * @param row Fila de la celda cambiada.
+     * @param col Columna de la celda cambiada.
+     * @param letter La nueva letra de la celda.
+     */
+    private Grafo(Grafo base, int row, int col, char letter) {
+        this.alfabeto = base.alfabeto;
+        this.rows = base.rows;
+        this.cols = base.cols;
+
+        // Solo se copia la fila que cambia; el resto de filas de nodos se comparte
+        this.nodes = base.nodes.clone();
+        this.nodes[row] = base.nodes[row].clone();
+        this.nodes[row][col] = new Node(letter, row, col);
+
+        int cell = row * cols + col;
+        int oldCode = base.packed[cell];
+        int newCode = alfabeto.code(letter);
+        this.packed = base.packed.clone();
+        this.packed[cell] = (byte) newCode;
+
+        // Las celdas candidatas de las demás letras siguen siendo válidas
+        this.startCellsCache = new AtomicReferenceArray<>(alfabeto.size());
+        for (int code = 0; code < alfabeto.size(); code++) {
+            if (code != oldCode && code != newCode) {
+                startCellsCache.set(code, base.startCellsCache.get(code));
+            }
+        }
+    }
+
+    /**
+     * Crea una nueva versión del tablero con una celda cambiada.
+     * El grafo actual no se modifica, por lo que las búsquedas en curso sobre él siguen siendo válidas.
+     * @param row Fila de la celda.
+     * @param col Columna de la celda.
+     * @param letter La nueva letra.
+     * @return El grafo con la celda actualizada.
+     * @throws IllegalArgumentException Si la posición no existe o la letra no pertenece al alfabeto.
+     */
+    public Grafo withCell(int row, int col, char letter) {
+        if (!isValid(row, col)) {
+            throw new IllegalArgumentException("La celda (" + row + ", " + col + ") está fuera del tablero.");
+        }
+        if (!alfabeto.contains(letter)) {
+            throw new IllegalArgumentException("La letra '" + letter + "' no pertenece al alfabeto del tablero.");
+        }
+        return new Grafo(this, row, col, letter);
+    }
+
+    /**
+     * Obtiene el alfabeto del tablero.
+     * @return El alfabeto con el que se codificaron las letras.
+     */
+    public Alfabeto getAlfabeto() {
+        return alfabeto;
+    }
+
+    /**
+     * Obtiene las celdas que contienen una letra, es decir, los posibles inicios de una palabra.
+     * El escaneo se hace sobre el tablero empaquetado comparando 8 celdas a la vez y el
+     * resultado se guarda por letra, de modo que las siguientes consultas no vuelven a escanear.
+     * @param letter La letra buscada.
+     * @return Los índices de celda (fila * columnas + columna) en orden creciente.
+     */
+    int[] getStartCells(char letter) {
+        int code = alfabeto.code(letter);
+        if (code < 0) {
+            return new int[0]; // La letra no existe en el alfabeto del tablero
+        }
+        int[] cells = startCellsCache.get(code);
+        if (cells == null) {
+            // Si dos hilos escanean la misma letra a la vez, ambos obtienen el mismo resultado
+            cells = EscanerCandidatos.scan(packed, (byte) code);
+            startCellsCache.set(code, cells);
+        }
+        return cells;
     }
 
     /**
@@ -43,50 +157,128 @@ public class Grafo {
         return r >= 0 && r < rows && c >= 0 && c < cols;
     }
 
+    /**
+     * Obtiene el vecino de un nodo en una de las 8 direcciones.
+     * @param node El nodo de origen.
+     * @param direction El índice de la dirección (0 a 7).
+     * @return El nodo vecino, o null si queda fuera del tablero.
+     */
+    Node getNeighbor(Node node, int direction) {
+        int newRow = node.getRow() + dRow[direction];
+        int newCol = node.getCol() + dCol[direction];
+        return isValid(newRow, newCol) ? nodes[newRow][newCol] : null;
+    }
+
+    /**
+     * Obtiene el índice de la celda vecina en una de las 8 direcciones.
+     * Las celdas se codifican como un entero (fila * columnas + columna).
+     * @param cell El índice de la celda de origen.
+     * @param direction El índice de la dirección (0 a 7).
+     * @return El índice de la celda vecina, o -1 si queda fuera del tablero.
+     */
+    int getNeighborCell(int cell, int direction) {
+        int newRow = cell / cols + dRow[direction];
+        int newCol = cell % cols + dCol[direction];
+        return isValid(newRow, newCol) ? newRow * cols + newCol : -1;
+    }
+
+    /**
+     * Obtiene la letra de una celda a partir de su índice.
+     * @param cell El índice de la celda (fila * columnas + columna).
+     * @return La letra de la celda.
+     */
+    char getValue(int cell) {
+        return alfabeto.symbol(packed[cell]);
+    }
+
+    /**
+     * Obtiene el código de alfabeto de una celda a partir de su índice.
+     * @param cell El índice de la celda (fila * columnas + columna).
+     * @return El código denso de la letra de la celda.
+     */
+    int getCode(int cell) {
+        return packed[cell];
+    }
+
+    /**
+     * Obtiene el nodo ubicado en una posición del tablero.
+     * @param r Fila del nodo.
+     * @param c Columna del nodo.
+     * @return El nodo en (r, c).
+     */
+    Node getNode(int r, int c) {
+        return nodes[r][c];
+    }
+
+    /**
+     * Obtiene el número de filas del tablero.
+     * @return El número de filas.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Obtiene el número de columnas del tablero.
+     * @return El número de columnas.
+     */
+    public int getCols() {
+        return cols;
+    }
+
     /**
      * Realiza una búsqueda en profundidad (DFS) para encontrar una palabra en el grafo.
-     * @param startNode El nodo desde el cual iniciar la búsqueda.
-     * @param word La palabra a buscar.
+     * @param cell La celda desde la cual continuar la búsqueda.
+     * @param codes La palabra a buscar, codificada con el alfabeto del tablero.
      * @param index El índice actual del carácter de la palabra que se está buscando.
-     * @param path La lista de nodos que forman el camino actual.
-     * @param visited El conjunto de nodos ya visitados en el camino actual para evitar ciclos.
+     * @param buffer La memoria de trabajo del hilo (camino actual y marcas de visitado).
+     * @param limite El límite de tiempo/expansiones; al agotarse se abandona la búsqueda.
+     * @param mapa El mapa de calor donde registrar expansiones y retrocesos, o null.
      * @return true si se encuentra la palabra, false en caso contrario.
      */
-    private boolean dfs(Node startNode, String word, int index, List<Node> path, Set<Node> visited) {
-        // Si el carácter actual del nodo no coincide con el carácter de la palabra
-        if (startNode.getValue() != word.charAt(index)) {
+    private boolean dfs(int cell, byte[] codes, int index, BufferBusqueda buffer, LimiteBusqueda limite, MapaCalor mapa) {
+        // Si la letra de la celda no coincide con el carácter de la palabra
+        if (packed[cell] != codes[index]) {
+            return false;
+        }
+
+        // Contar la expansión; si el límite se agotó, abandonar sin seguir explorando
+        if (!limite.consume()) {
             return false;
         }
+        if (mapa != null) {
+            mapa.visit(cell);
+        }
+
+        buffer.path[index] = cell; // Añadir la celda al camino
 
         // Si se encontró el último carácter de la palabra
-        if (index == word.length() - 1) {
-            path.add(startNode);
+        if (index == codes.length - 1) {
             return true;
         }
 
-        // Marcar el nodo como visitado para el camino actual
-        visited.add(startNode);
-        path.add(startNode); // Añadir el nodo al camino
+        // Marcar la celda como visitada para el camino actual
+        buffer.visited[cell] = buffer.stamp;
 
         // Explorar vecinos
         for (int i = 0; i < 8; i++) {
-            int newRow = startNode.getRow() + dRow[i];
-            int newCol = startNode.getCol() + dCol[i];
-
-            if (isValid(newRow, newCol)) {
-                Node neighbor = nodes[newRow][newCol];
-                // Si el vecino no ha sido visitado en este camino
-                if (!visited.contains(neighbor)) {
-                    if (dfs(neighbor, word, index + 1, path, visited)) {
-                        return true; // Se encontró la palabra en un camino descendente
-                    }
+            int neighbor = getNeighborCell(cell, i);
+            // Si el vecino existe y no ha sido visitado en este camino
+            if (neighbor >= 0 && buffer.visited[neighbor] != buffer.stamp) {
+                if (dfs(neighbor, codes, index + 1, buffer, limite, mapa)) {
+                    return true; // Se encontró la palabra en un camino descendente
+                }
+                if (limite.isAgotado()) {
+                    break; // Límite agotado: dejar de explorar vecinos
                 }
             }
         }
 
-        // Si la palabra no se encontró a partir de este nodo, retroceder (backtrack)
-        path.remove(path.size() - 1); // Quitar el nodo del camino
-        visited.remove(startNode);    // Desmarcar como visitado para que otros caminos puedan usarlo
+        // Si la palabra no se encontró a partir de esta celda, retroceder (backtrack)
+        buffer.visited[cell] = 0; // Desmarcar como visitada para que otros caminos puedan usarla
+        if (mapa != null) {
+            mapa.backtrack(cell);
+        }
         return false;
     }
 
@@ -97,20 +289,69 @@ public class Grafo {
      * @return Una lista de nodos que forman el camino si la palabra es encontrada; una lista vacía en caso contrario.
      */
     public List<Node> searchWordDFS(String word) {
-        if (word == null || word.isEmpty()) {
-            return Collections.emptyList();
+        return searchWordDFS(word, LimiteBusqueda.sinLimite()).getPath();
+    }
+
+    /**
+     * Busca una palabra en el tablero usando DFS, respetando un límite de tiempo/expansiones.
+     * @param word La palabra a buscar.
+     * @param limite El límite de la búsqueda.
+     * @return Un ResultadoBusqueda con el estado (FOUND, NOT_FOUND, TIMED_OUT o BUDGET_EXCEEDED) y el camino.
+     */
+    public ResultadoBusqueda searchWordDFS(String word, LimiteBusqueda limite) {
+        return searchWordDFS(word, 0, rows * cols, limite, null);
+    }
+
+    /**
+     * Busca una palabra con DFS y registra en un mapa de calor el esfuerzo de cada celda.
+     * @param word La palabra a buscar.
+     * @param limite El límite de la búsqueda.
+     * @param mapa El mapa de calor (del tamaño del tablero), o null para no registrar.
+     * @return Un ResultadoBusqueda con el estado y el camino.
+     */
+    public ResultadoBusqueda searchWordDFS(String word, LimiteBusqueda limite, MapaCalor mapa) {
+        return searchWordDFS(word, 0, rows * cols, limite, mapa);
+    }
+
+    /**
+     * Busca una palabra con DFS probando solo los caminos que empiezan en un rango de celdas.
+     * Permite repartir la búsqueda de una palabra entre varios procesos por celdas iniciales:
+     * la palabra está en el tablero si algún rango la encuentra.
+     * @param word La palabra a buscar.
+     * @param cellFrom Primera celda inicial permitida (fila * columnas + columna).
+     * @param cellTo Fin exclusivo del rango de celdas iniciales.
+     * @param limite El límite de la búsqueda.
+     * @return Un ResultadoBusqueda con el estado y el camino.
+     */
+    public ResultadoBusqueda searchWordDFS(String word, int cellFrom, int cellTo, LimiteBusqueda limite) {
+        return searchWordDFS(word, cellFrom, cellTo, limite, null);
+    }
+
+    private ResultadoBusqueda searchWordDFS(String word, int cellFrom, int cellTo, LimiteBusqueda limite, MapaCalor mapa) {
+        byte[] codes = word == null || word.isEmpty() ? null : alfabeto.encode(word);
+        if (codes == null) {
+            // Palabra vacía o con letras que no existen en el tablero
+            return new ResultadoBusqueda(EstadoBusqueda.NOT_FOUND, Collections.emptyList());
         }
 
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                List<Node> path = new ArrayList<>();
-                Set<Node> visited = new HashSet<>();
-                if (dfs(nodes[r][c], word, 0, path, visited)) {
-                    return path; // Retorna el primer camino encontrado
-                }
+        BufferBusqueda buffer = BufferBusqueda.get();
+        buffer.begin(rows * cols, codes.length);
+
+        // Solo se prueban las celdas que contienen la primera letra de la palabra
+        for (int cell : getStartCells(word.charAt(0))) {
+            if (cell < cellFrom) {
+                continue;
+            }
+            if (cell >= cellTo || limite.isAgotado()) {
+                break; // Las celdas candidatas están en orden creciente
+            }
+            if (dfs(cell, codes, 0, buffer, limite, mapa)) {
+                // Retorna el primer camino encontrado
+                return new ResultadoBusqueda(EstadoBusqueda.FOUND, decodePath(Arrays.copyOf(buffer.path, codes.length)));
             }
         }
-        return Collections.emptyList(); // Palabra no encontrada en ningún camino
+        // Palabra no encontrada en ningún camino, o búsqueda abandonada por el límite
+        return new ResultadoBusqueda(limite.resolve(false), Collections.emptyList());
     }
 
     /**
@@ -121,53 +362,112 @@ public class Grafo {
      * @return Una lista de nodos que forman el camino si la palabra es encontrada; una lista vacía en caso contrario.
      */
     public List<Node> searchWordBFS(String word) {
-        if (word == null || word.isEmpty()) {
-            return Collections.emptyList();
-        }
+        return searchWordBFS(word, LimiteBusqueda.sinLimite()).getPath();
+    }
 
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                Node startNode = nodes[r][c];
-                if (startNode.getValue() != word.charAt(0)) {
-                    continue; // Saltar si la primera letra no coincide
-                }
+    /**
+     * Busca una palabra en el tablero usando BFS, respetando un límite de tiempo/expansiones.
+     * @param word La palabra a buscar.
+     * @param limite El límite de la búsqueda.
+     * @return Un ResultadoBusqueda con el estado (FOUND, NOT_FOUND, TIMED_OUT o BUDGET_EXCEEDED) y el camino.
+     */
+    public ResultadoBusqueda searchWordBFS(String word, LimiteBusqueda limite) {
+        return searchWordBFS(word, limite, null);
+    }
+
+    /**
+     * Busca una palabra con BFS y registra en un mapa de calor el esfuerzo de cada celda.
+     * En BFS un retroceso es un camino parcial expandido que no se pudo extender.
+     * @param word La palabra a buscar.
+     * @param limite El límite de la búsqueda.
+     * @param mapa El mapa de calor (del tamaño del tablero), o null para no registrar.
+     * @return Un ResultadoBusqueda con el estado y el camino.
+     */
+    public ResultadoBusqueda searchWordBFS(String word, LimiteBusqueda limite, MapaCalor mapa) {
+        byte[] codes = word == null || word.isEmpty() ? null : alfabeto.encode(word);
+        if (codes == null) {
+            // Palabra vacía o con letras que no existen en el tablero
+            return new ResultadoBusqueda(EstadoBusqueda.NOT_FOUND, Collections.emptyList());
+        }
 
-                Queue<List<Node>> queue = new LinkedList<>(); // Cola de caminos
-                List<Node> initialPath = new ArrayList<>();
-                initialPath.add(startNode);
-                queue.offer(initialPath);
+        BufferBusqueda buffer = BufferBusqueda.get();
+        buffer.begin(rows * cols, codes.length);
 
-                while (!queue.isEmpty()) {
-                    List<Node> currentPath = queue.poll();
-                    Node lastNode = currentPath.get(currentPath.size() - 1);
-                    int currentIndex = currentPath.size();
+        // Solo se prueban las celdas que contienen la primera letra de la palabra
+        for (int cell : getStartCells(word.charAt(0))) {
+            // La cola de caminos es la arena del hilo: cada entrada apunta a su padre,
+            // así que extender un camino no copia las celdas anteriores
+            buffer.arenaSize = 0;
+            buffer.addEntry(cell, -1, 1);
+            int head = 0;
 
-                    if (currentIndex == word.length()) {
-                        return currentPath;
-                    }
+            while (head < buffer.arenaSize) {
+                int entry = head++;
+                int currentIndex = buffer.arenaDepth[entry];
 
-                    // Explorar vecinos
-                    for (int i = 0; i < 8; i++) {
-                        int newRow = lastNode.getRow() + dRow[i];
-                        int newCol = lastNode.getCol() + dCol[i];
+                if (currentIndex == codes.length) {
+                    return new ResultadoBusqueda(EstadoBusqueda.FOUND, decodePath(buffer.pathTo(entry)));
+                }
 
-                        if (isValid(newRow, newCol)) {
-                            Node neighbor = nodes[newRow][newCol];
-                            if (!currentPath.contains(neighbor) &&
-                                (currentIndex < word.length() && neighbor.getValue() == word.charAt(currentIndex))) {
+                // Contar la expansión; si el límite se agotó, se descarta el trabajo pendiente
+                if (!limite.consume()) {
+                    return new ResultadoBusqueda(limite.getEstadoAgotado(), Collections.emptyList());
+                }
 
-                                List<Node> newPath = new ArrayList<>(currentPath);
-                                newPath.add(neighbor);
-                                queue.offer(newPath);
-                            }
-                        }
+                // Explorar vecinos
+                int lastCell = buffer.arenaCell[entry];
+                int before = buffer.arenaSize;
+                for (int i = 0; i < 8; i++) {
+                    int neighbor = getNeighborCell(lastCell, i);
+                    if (neighbor >= 0 && packed[neighbor] == codes[currentIndex] && !buffer.onPath(entry, neighbor)) {
+                        buffer.addEntry(neighbor, entry, currentIndex + 1);
+                    }
+                }
+                if (mapa != null) {
+                    mapa.visit(lastCell);
+                    if (buffer.arenaSize == before) {
+                        mapa.backtrack(lastCell); // Camino sin salida
                     }
                 }
             }
         }
-        return Collections.emptyList(); // Palabra no encontrada
+        return new ResultadoBusqueda(EstadoBusqueda.NOT_FOUND, Collections.emptyList()); // Palabra no encontrada
+    }
+
+
+    /**
+     * Busca una palabra con una búsqueda bidireccional: una frontera desde la primera letra
+     * y otra desde la última que se unen en la letra central, sin compartir celdas.
+     * Explora muchos menos caminos parciales que BFS o DFS en palabras largas.
+     * @param word La palabra a buscar.
+     * @param limite El límite de la búsqueda.
+     * @return Un ResultadoBusqueda con el estado (FOUND, NOT_FOUND, TIMED_OUT o BUDGET_EXCEEDED) y el camino.
+     */
+    public ResultadoBusqueda searchWordBidirectional(String word, LimiteBusqueda limite) {
+        return new BusquedaBidireccional(this).search(word, limite, null);
+    }
+
+    /**
+     * Busca una palabra con la búsqueda bidireccional y registra en un mapa de calor el
+     * esfuerzo de cada celda, sumando las dos fronteras.
+     * @param word La palabra a buscar.
+     * @param limite El límite de la búsqueda.
+     * @param mapa El mapa de calor (del tamaño del tablero), o null para no registrar.
+     * @return Un ResultadoBusqueda con el estado y el camino.
+     */
+    public ResultadoBusqueda searchWordBidirectional(String word, LimiteBusqueda limite, MapaCalor mapa) {
+        return new BusquedaBidireccional(this).search(word, limite, mapa);
     }
 
+    /**
+     * Busca una palabra con la búsqueda bidireccional, sin límites.
+     * @param word La palabra a buscar.
+     * @return Una lista de nodos que forman el camino si la palabra es encontrada; una lista vacía en caso contrario.
+     * @see #searchWordBidirectional(String, LimiteBusqueda)
+     */
+    public List<Node> searchWordBidirectional(String word) {
+        return searchWordBidirectional(word, LimiteBusqueda.sinLimite()).getPath();
+    }
 
     /**
      * Realiza una búsqueda en amplitud (BFS) para encontrar una palabra en el grafo,
@@ -178,86 +478,206 @@ public class Grafo {
      * y el mapa de padres para reconstruir el árbol de búsqueda.
      */
     public ResultadoBFS searchWordBFSForVisualization(String word) {
-        List<Node> foundPath = Collections.emptyList();
-        Map<Node, Node> parentMap = new HashMap<>(); // Para reconstruir el árbol de búsqueda
-        Node bfsStartNode = null; // Para saber desde dónde se inició la visualización BFS
+        return searchWordBFSForVisualization(word, LimiteBusqueda.sinLimite());
+    }
+
+    /**
+     * Realiza un BFS para visualización respetando un límite de tiempo/expansiones.
+     * Si el límite se agota, el resultado conserva el árbol explorado hasta ese momento
+     * y su estado indica TIMED_OUT o BUDGET_EXCEEDED.
+     *
+     * @param word La palabra a buscar.
+     * @param limite El límite de la búsqueda.
+     * @return Un objeto ResultadoBFS con el camino, el mapa de padres y el estado final.
+     */
+    public ResultadoBFS searchWordBFSForVisualization(String word, LimiteBusqueda limite) {
+        return searchWordBFSForVisualization(word, limite, null);
+    }
+
+    /**
+     * Realiza un BFS para visualización y registra en un mapa de calor el esfuerzo de cada
+     * celda, sumando los recorridos desde todas las celdas iniciales probadas.
+     *
+     * @param word La palabra a buscar.
+     * @param limite El límite de la búsqueda.
+     * @param mapa El mapa de calor (del tamaño del tablero), o null para no registrar.
+     * @return Un objeto ResultadoBFS con el camino, el mapa de padres y el estado final.
+     */
+    public ResultadoBFS searchWordBFSForVisualization(String word, LimiteBusqueda limite, MapaCalor mapa) {
+        int[] parents = new int[rows * cols]; // Padre de cada celda para reconstruir el árbol de búsqueda
+        Arrays.fill(parents, ResultadoBFS.SIN_PADRE);
+        int bfsStartCell = -1; // Para saber desde dónde se inició la visualización BFS
 
         if (word == null || word.isEmpty()) {
-            return new ResultadoBFS(false, foundPath, parentMap, bfsStartNode);
+            return new ResultadoBFS(EstadoBusqueda.NOT_FOUND, null, null, bfsStartCell, this);
         }
 
-        Queue<List<Node>> queue = new LinkedList<>(); // Cola de caminos actuales (para encontrar la palabra)
-        Queue<Node> bfsQueue = new LinkedList<>(); // Cola para el recorrido BFS general (para la visualización)
-        Set<Node> visitedBfsNodes = new HashSet<>(); // Nodos visitados en el BFS general
+        // La cola de caminos es la arena del hilo y las celdas ya vistas en el árbol usan sus
+        // marcas, así que la única memoria nueva de cada llamada es el arreglo de padres
+        BufferBusqueda buffer = BufferBusqueda.get();
+        buffer.begin(rows * cols, word.length());
+
+        // Iterar solo sobre las celdas que contienen la primera letra de la palabra
+        for (int cell : getStartCells(word.charAt(0))) {
+            // Reiniciar la arena, las marcas y los padres para CADA posible inicio de palabra,
+            // para que la visualización muestre la expansión del último inicio probado si la
+            // palabra NO se encuentra. Si se encuentra, el 'return' termina la búsqueda.
+            buffer.arenaSize = 0;
+            buffer.nextStamp();
+            Arrays.fill(parents, ResultadoBFS.SIN_PADRE);
+            bfsStartCell = cell; // Establecer esta como la nueva celda de inicio para la visualización
+
+            buffer.addEntry(cell, -1, 1);
+            buffer.visited[cell] = buffer.stamp;
+            int head = 0;
+
+            while (head < buffer.arenaSize) {
+                int entry = head++;
+                int currentIndex = buffer.arenaDepth[entry];
+
+                if (currentIndex == word.length()) {
+                    // Palabra encontrada! Retorna el resultado inmediatamente.
+                    return new ResultadoBFS(EstadoBusqueda.FOUND, buffer.pathTo(entry), parents, bfsStartCell, this);
+                }
 
-        // Iterar sobre todos los nodos del tablero para posibles inicios de búsqueda
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                Node startNode = nodes[r][c];
-
-                // Si la primera letra del nodo coincide con la primera letra de la palabra
-                if (startNode.getValue() == word.charAt(0)) {
-                    // Reiniciar colas y mapas para CADA posible inicio de palabra si la palabra no se ha encontrado aún
-                    // Esto es para que la visualización del BFS (parentMap) empiece desde el inicio más "relevante"
-                    // y muestre la expansión correcta si la palabra NO se encuentra.
-                    // Si la palabra se encuentra, el bucle externo se romperá con el 'return'
-
-                    queue.clear(); // Limpiar la cola de caminos para la búsqueda de palabra
-                    bfsQueue.clear(); // Limpiar la cola para la visualización BFS
-                    visitedBfsNodes.clear(); // Limpiar nodos visitados para la visualización BFS
-                    parentMap.clear(); // Limpiar el mapa de padres
-                    bfsStartNode = startNode; // Establecer este como el nuevo nodo de inicio para la visualización
-
-                    List<Node> initialPath = new ArrayList<>();
-                    initialPath.add(startNode);
-                    queue.offer(initialPath);
-
-                    bfsQueue.offer(startNode);
-                    visitedBfsNodes.add(startNode);
-
-                    // Este bucle interno procesa las colas de búsqueda y visualización
-                    while (!queue.isEmpty()) { // Solo nos interesa seguir la queue de palabra para encontrarla
-                        List<Node> currentPath = queue.poll();
-                        Node lastNodeInPath = currentPath.get(currentPath.size() - 1);
-                        int currentIndex = currentPath.size();
-
-                        if (currentIndex == word.length()) {
-                            // Palabra encontrada! Retorna el resultado inmediatamente.
-                            return new ResultadoBFS(true, currentPath, parentMap, bfsStartNode);
-                        }
+                // Contar la expansión; si el límite se agotó, se devuelve lo explorado hasta ahora
+                if (!limite.consume()) {
+                    return new ResultadoBFS(limite.getEstadoAgotado(), null, parents, bfsStartCell, this);
+                }
 
-                        // Explorar vecinos para extender el camino de la palabra
-                        for (int i = 0; i < 8; i++) {
-                            int newRow = lastNodeInPath.getRow() + dRow[i];
-                            int newCol = lastNodeInPath.getCol() + dCol[i];
-
-                            if (isValid(newRow, newCol)) {
-                                Node neighbor = nodes[newRow][newCol];
-                                // Condición clave: el vecino NO debe estar en el camino actual (para evitar ciclos y caminos incorrectos)
-                                // Y su valor debe coincidir con la siguiente letra de la palabra.
-                                if (!currentPath.contains(neighbor) &&
-                                    (currentIndex < word.length() && neighbor.getValue() == word.charAt(currentIndex))) {
-
-                                    List<Node> newPath = new ArrayList<>(currentPath);
-                                    newPath.add(neighbor);
-                                    queue.offer(newPath);
-
-                                    // Si este vecino no ha sido visitado en el BFS general (para visualización), añadirlo
-                                    if (!visitedBfsNodes.contains(neighbor)) {
-                                        bfsQueue.offer(neighbor); // Agrega para explorar en BFS general (solo para visualización)
-                                        visitedBfsNodes.add(neighbor);
-                                        parentMap.put(neighbor, lastNodeInPath); // Registrar el padre para la visualización
-                                    }
-                                }
-                            }
+                // Explorar vecinos para extender el camino de la palabra; una letra que no
+                // pertenece al alfabeto tiene código -1 y no coincide con ninguna celda
+                int lastCell = buffer.arenaCell[entry];
+                int nextCode = alfabeto.code(word.charAt(currentIndex));
+                int before = buffer.arenaSize;
+                for (int i = 0; i < 8; i++) {
+                    int neighbor = getNeighborCell(lastCell, i);
+                    // El vecino NO debe estar en el camino actual y su letra debe ser la siguiente de la palabra
+                    if (neighbor >= 0 && packed[neighbor] == nextCode && !buffer.onPath(entry, neighbor)) {
+                        buffer.addEntry(neighbor, entry, currentIndex + 1);
+
+                        // Si este vecino no ha sido visitado en el árbol (para visualización), registrar su padre
+                        if (buffer.visited[neighbor] != buffer.stamp) {
+                            buffer.visited[neighbor] = buffer.stamp;
+                            parents[neighbor] = lastCell;
                         }
                     }
                 }
+                if (mapa != null) {
+                    mapa.visit(lastCell);
+                    if (buffer.arenaSize == before) {
+                        mapa.backtrack(lastCell); // Camino sin salida
+                    }
+                }
             }
         }
         // Si la palabra no fue encontrada después de explorar todos los posibles inicios
-        // En este punto, parentMap y bfsStartNode contendrán el último recorrido BFS intentado.
+        // En este punto, parents y bfsStartCell contendrán el último recorrido BFS intentado.
         // Para la visualización, esto es útil incluso si no se encontró la palabra.
-        return new ResultadoBFS(false, foundPath, parentMap, bfsStartNode);
+        return new ResultadoBFS(EstadoBusqueda.NOT_FOUND, null, parents, bfsStartCell, this);
+    }
+
+    /**
+     * Convierte un camino de nodos en su codificación compacta como índices de celda.
+     * @param path La lista de nodos del camino.
+     * @return Los índices de celda (fila * columnas + columna) del camino.
+     */
+    int[] encodePath(List<Node> path) {
+        int[] cells = new int[path.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = path.get(i).getRow() * cols + path.get(i).getCol();
+        }
+        return cells;
+    }
+
+    /**
+     * Enumera de forma perezosa todos los caminos distintos que forman una palabra.
+     * Cada ocurrencia se produce en cuanto se descubre, codificada como un arreglo
+     * de índices de celda (fila * columnas + columna), sin guardar las anteriores.
+     * Admite terminación temprana (findFirst, anyMatch) y límites (limit).
+     *
+     * @param word La palabra a buscar.
+     * @param parallel true para repartir las celdas iniciales entre varios hilos.
+     * @return Un Stream con cada camino encontrado.
+     */
+    public Stream<int[]> streamAllOccurrences(String word, boolean parallel) {
+        return streamAllOccurrences(word, parallel, null);
+    }
+
+    /**
+     * Enumera todas las ocurrencias de una palabra respetando un límite de tiempo/expansiones.
+     * Al agotarse el límite el Stream simplemente termina; limite.isAgotado() indica
+     * si la enumeración quedó incompleta. En modo paralelo el límite se comparte entre hilos.
+     *
+     * @param word La palabra a buscar.
+     * @param parallel true para repartir las celdas iniciales entre varios hilos.
+     * @param limite El límite de la enumeración, o null para no limitar.
+     * @return Un Stream con cada camino encontrado.
+     */
+    public Stream<int[]> streamAllOccurrences(String word, boolean parallel, LimiteBusqueda limite) {
+        if (word == null || word.isEmpty()) {
+            return Stream.empty();
+        }
+        int[] startCells = getStartCells(word.charAt(0));
+        return StreamSupport.stream(new OcurrenciasSpliterator(this, word, startCells, 0, startCells.length, limite), parallel);
+    }
+
+    /**
+     * Enumera de forma perezosa las palabras del tablero que cumplen un patrón.
+     * '?' representa una letra cualquiera y un '*' final cualquier sufijo (incluso vacío).
+     * Cada palabra se produce una vez, con el primer camino encontrado.
+     *
+     * @param pattern El patrón, por ejemplo "C?SA" o "PER*".
+     * @param maxLength Longitud máxima de las palabras para patrones que terminan en '*'; sin trie
+     * se recorta a ConsultaPatron.MAX_LONGITUD_SIN_DICCIONARIO.
+     * @param trie El trie del diccionario para producir solo palabras del diccionario, o null para no filtrar.
+     * @param limite El límite de la enumeración, o null para usar el límite por defecto
+     * (ConsultaPatron.LIMITE_TIEMPO_MS y ConsultaPatron.LIMITE_EXPANSIONES).
+     * @param parallel true para repartir las celdas iniciales entre varios hilos.
+     * @return Un Stream con cada palabra y su camino.
+     * @throws IllegalArgumentException Si el patrón no es válido.
+     */
+    public Stream<CoincidenciaPatron> streamPattern(String pattern, int maxLength, TrieDiccionario trie,
+                                                    LimiteBusqueda limite, boolean parallel) {
+        String error = ConsultaPatron.validate(pattern, alfabeto);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        return StreamSupport.stream(new ConsultaPatron(this, pattern, maxLength, trie, limite), parallel);
+    }
+
+    /**
+     * Enumera secuencialmente todos los caminos distintos que forman una palabra.
+     * @param word La palabra a buscar.
+     * @return Un Stream con cada camino encontrado.
+     * @see #streamAllOccurrences(String, boolean)
+     */
+    public Stream<int[]> streamAllOccurrences(String word) {
+        return streamAllOccurrences(word, false);
+    }
+
+    /**
+     * Convierte un camino codificado como índices de celda en la lista de nodos correspondiente.
+     * @param cells Los índices de celda del camino.
+     * @return La lista de nodos del camino.
+     */
+    public List<Node> decodePath(int[] cells) {
+        List<Node> path = new ArrayList<>(cells.length);
+        for (int cell : cells) {
+            path.add(nodes[cell / cols][cell % cols]);
+        }
+        return path;
+    }
+
+    /**
+     * Cuenta los caminos simples distintos que forman una palabra sin enumerarlos.
+     * En tableros pequeños el conteo es exacto; en tableros grandes se devuelve una
+     * cota superior (exacta si la palabra no repite letras).
+     *
+     * @param word La palabra a contar.
+     * @return Un ResultadoConteo con el número de caminos.
+     */
+    public ResultadoConteo countOccurrences(String word) {
+        return new ContadorOcurrencias(this, word).count();
     }
 }
\ No newline at end of file
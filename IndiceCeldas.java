@@ -0,0 +1,89 @@
+package com.mycompany.proyecto1;
+
+import java.util.Arrays;
+
+/**
+ * Índice inverso de celda a identificadores de palabra ("postings").
+ * Para cada celda guarda, en un arreglo de enteros, las palabras cuyo camino encontrado
+ * pasa por ella. Las celdas sin palabras no reservan memoria.
+ */
+class IndiceCeldas {
+
+    private static final int[] VACIO = new int[0];
+
+    private final int[][] postings; // Palabras de cada celda; null si no hay ninguna
+    private final int[] sizes;      // Número de palabras válidas en cada arreglo
+
+    /**
+     * Constructor para un índice vacío.
+     * @param cells Número de celdas del tablero.
+     */
+    IndiceCeldas(int cells) {
+        this.postings = new int[cells][];
+        this.sizes = new int[cells];
+    }
+
+    /**
+     * Registra todas las celdas de un camino para una palabra.
+     * @param wordId El identificador de la palabra.
+     * @param path Las celdas del camino.
+     */
+    void addPath(int wordId, int[] path) {
+        for (int cell : path) {
+            add(cell, wordId);
+        }
+    }
+
+    /**
+     * Elimina todas las celdas de un camino para una palabra.
+     * @param wordId El identificador de la palabra.
+     * @param path Las celdas del camino.
+     */
+    void removePath(int wordId, int[] path) {
+        for (int cell : path) {
+            remove(cell, wordId);
+        }
+    }
+
+    private void add(int cell, int wordId) {
+        int[] list = postings[cell];
+        if (list == null) {
+            list = new int[2];
+            postings[cell] = list;
+        } else if (sizes[cell] == list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+            postings[cell] = list;
+        }
+        list[sizes[cell]++] = wordId;
+    }
+
+    private void remove(int cell, int wordId) {
+        int[] list = postings[cell];
+        int size = sizes[cell];
+        for (int i = 0; i < size; i++) {
+            if (list[i] == wordId) {
+                list[i] = list[size - 1]; // El orden no importa: se reemplaza por el último
+                sizes[cell] = size - 1;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Obtiene las palabras cuyo camino pasa por una celda.
+     * @param cell El índice de la celda.
+     * @return Una copia con los identificadores de palabra; vacía si no hay ninguna.
+     */
+    int[] get(int cell) {
+        return sizes[cell] == 0 ? VACIO : Arrays.copyOf(postings[cell], sizes[cell]);
+    }
+
+    /**
+     * Obtiene el número de palabras cuyo camino pasa por una celda.
+     * @param cell El índice de la celda.
+     * @return El número de palabras.
+     */
+    int size(int cell) {
+        return sizes[cell];
+    }
+}
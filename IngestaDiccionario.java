@@ -0,0 +1,120 @@
+package com.mycompany.proyecto1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Carga por bloques de la sección {@code <dic>} de un archivo.
+ * Las líneas se acumulan en bloques; cada bloque se valida en paralelo y luego sus palabras
+ * válidas se insertan, en el orden del archivo, en el trie del diccionario, que también
+ * descarta las repetidas. Los problemas no se muestran uno por uno: se registran en un
+ * ReporteValidacion para mostrarlos en un solo resumen al terminar.
+ */
+public class IngestaDiccionario {
+
+    /** Número de líneas que se validan juntas. */
+    public static final int TAMANO_BLOQUE = 8192;
+
+    private final Alfabeto alfabeto;
+    private final int minLength;
+    private final ReporteValidacion reporte;
+    private final TrieDiccionario trie;
+    private final List<String> words = new ArrayList<>(); // Palabras aceptadas, en el orden del archivo
+
+    private final String[] pendingText = new String[TAMANO_BLOQUE]; // Bloque en espera de validación
+    private final int[] pendingLine = new int[TAMANO_BLOQUE];
+    private int pending = 0;
+
+    /**
+     * Constructor para una carga vacía.
+     * @param alfabeto El alfabeto permitido en las palabras.
+     * @param minLength La longitud mínima de una palabra.
+     * @param reporte Reporte donde se registran las palabras ignoradas.
+     */
+    public IngestaDiccionario(Alfabeto alfabeto, int minLength, ReporteValidacion reporte) {
+        this.alfabeto = alfabeto;
+        this.minLength = minLength;
+        this.reporte = reporte;
+        this.trie = new TrieDiccionario(alfabeto);
+    }
+
+    /**
+     * Recibe una línea de la sección de diccionario. Las líneas vacías se ignoran.
+     * @param text El texto de la línea, ya sin espacios a los lados.
+     * @param lineNumber La línea del archivo (empezando en 1).
+     */
+    public void accept(String text, int lineNumber) {
+        if (text.isEmpty()) {
+            return;
+        }
+        pendingText[pending] = text;
+        pendingLine[pending] = lineNumber;
+        pending++;
+        if (pending == TAMANO_BLOQUE) {
+            flush();
+        }
+    }
+
+    /**
+     * Procesa las líneas que quedaron en el último bloque incompleto.
+     */
+    public void finish() {
+        if (pending > 0) {
+            flush();
+        }
+    }
+
+    // Valida el bloque en paralelo y luego inserta en orden las palabras válidas
+    private void flush() {
+        IntStream.range(0, pending).parallel().forEach(i -> {
+            ReporteValidacion.Problema problema = validate(pendingText[i]);
+            if (problema != null) {
+                reporte.addProblem(problema, pendingLine[i], pendingText[i]);
+                pendingText[i] = null;
+            }
+        });
+        for (int i = 0; i < pending; i++) {
+            String word = pendingText[i];
+            if (word == null) {
+                continue;
+            }
+            if (trie.add(word)) {
+                words.add(word);
+            } else {
+                reporte.addProblem(ReporteValidacion.Problema.DUPLICADA, pendingLine[i], word);
+            }
+            pendingText[i] = null;
+        }
+        pending = 0;
+    }
+
+    // Devuelve el problema de una palabra, o null si es válida
+    private ReporteValidacion.Problema validate(String word) {
+        if (word.length() < minLength) {
+            return ReporteValidacion.Problema.MUY_CORTA;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (!alfabeto.contains(word.charAt(i))) {
+                return ReporteValidacion.Problema.CARACTER_INVALIDO;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Obtiene las palabras aceptadas hasta ahora.
+     * @return Las palabras válidas y sin repetir, en el orden del archivo.
+     */
+    public List<String> getWords() {
+        return words;
+    }
+
+    /**
+     * Obtiene el trie con las palabras aceptadas hasta ahora.
+     * @return El trie del diccionario.
+     */
+    public TrieDiccionario getTrie() {
+        return trie;
+    }
+}
@@ -0,0 +1,149 @@
+package com.mycompany.proyecto1;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Límite de tiempo y/o de expansiones de nodos para una búsqueda.
+ * Protege frente a consultas adversarias (por ejemplo, un tablero lleno de 'A'
+ * y la palabra "AAAAAAAAAAAA") cuyo costo es exponencial.
+ *
+ * Una instancia lleva la cuenta de expansiones de una búsqueda, por lo que cada búsqueda
+ * debe usar la suya; pero es segura entre hilos, de modo que las divisiones de una búsqueda
+ * paralela (un stream) pueden compartirla. Para no competir por el contador en cada
+ * expansión, esas divisiones reservan lotes con {@link #reserve(long)}.
+ */
+public class LimiteBusqueda {
+
+    /** Cada cuántas expansiones se consulta el reloj; también es el lote que reservan las divisiones paralelas. */
+    static final int INTERVALO_RELOJ = 1024;
+
+    private final long deadlineNanos;  // Instante límite según System.nanoTime(); Long.MAX_VALUE si no hay
+    private final long maxExpansions;  // Máximo de expansiones; Long.MAX_VALUE si no hay
+    private final AtomicLong expansions = new AtomicLong();  // Expansiones consumidas o reservadas hasta ahora
+    private final AtomicReference<EstadoBusqueda> agotado = new AtomicReference<>(); // TIMED_OUT o BUDGET_EXCEEDED una vez agotado
+
+    /**
+     * Constructor para un límite de búsqueda.
+     * @param timeoutMillis Tiempo máximo en milisegundos desde ahora; 0 o negativo para no limitar.
+     * @param maxExpansions Máximo de nodos expandidos; 0 o negativo para no limitar.
+     */
+    public LimiteBusqueda(long timeoutMillis, long maxExpansions) {
+        this.deadlineNanos = timeoutMillis > 0 ? System.nanoTime() + timeoutMillis * 1_000_000L : Long.MAX_VALUE;
+        this.maxExpansions = maxExpansions > 0 ? maxExpansions : Long.MAX_VALUE;
+    }
+
+    /**
+     * Crea un límite que nunca se agota.
+     * @return Un límite sin restricciones.
+     */
+    public static LimiteBusqueda sinLimite() {
+        return new LimiteBusqueda(0, 0);
+    }
+
+    /**
+     * Crea un límite solo de tiempo.
+     * @param timeoutMillis Tiempo máximo en milisegundos.
+     * @return El límite.
+     */
+    public static LimiteBusqueda conTiempo(long timeoutMillis) {
+        return new LimiteBusqueda(timeoutMillis, 0);
+    }
+
+    /**
+     * Crea un límite solo de expansiones.
+     * @param maxExpansions Máximo de nodos expandidos.
+     * @return El límite.
+     */
+    public static LimiteBusqueda conExpansiones(long maxExpansions) {
+        return new LimiteBusqueda(0, maxExpansions);
+    }
+
+    /**
+     * Registra la expansión de un nodo.
+     * El reloj solo se consulta cada cierto número de expansiones para que el costo sea mínimo.
+     * @return true si la búsqueda puede continuar, false si el límite se agotó.
+     */
+    public boolean consume() {
+        if (agotado.get() != null) {
+            return false;
+        }
+        long n = expansions.incrementAndGet();
+        if (n > maxExpansions) {
+            agotar(EstadoBusqueda.BUDGET_EXCEEDED);
+            return false;
+        }
+        if (deadlineNanos != Long.MAX_VALUE && n % INTERVALO_RELOJ == 0 && System.nanoTime() >= deadlineNanos) {
+            agotar(EstadoBusqueda.TIMED_OUT);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reserva de una vez hasta un lote de expansiones, que quien las reserva consume después
+     * sin volver a tocar el límite. Las expansiones reservadas y no usadas se pierden, así que
+     * cada división paralela puede dejar sin usar hasta un lote.
+     * @param lote El número de expansiones pedidas.
+     * @return Las expansiones concedidas (hasta 'lote'), o 0 si el límite se agotó.
+     */
+    public long reserve(long lote) {
+        if (agotado.get() != null) {
+            return 0;
+        }
+        long before = expansions.getAndAdd(lote);
+        long granted = Math.min(lote, maxExpansions - before);
+        if (granted <= 0) {
+            agotar(EstadoBusqueda.BUDGET_EXCEEDED);
+            return 0;
+        }
+        if (deadlineNanos != Long.MAX_VALUE && System.nanoTime() >= deadlineNanos) {
+            agotar(EstadoBusqueda.TIMED_OUT);
+            return 0;
+        }
+        return granted;
+    }
+
+    // Registra el motivo del agotamiento; si varios hilos lo agotan a la vez, gana el primero
+    private void agotar(EstadoBusqueda estado) {
+        agotado.compareAndSet(null, estado);
+    }
+
+    /**
+     * Indica si el límite ya se agotó.
+     * @return true si la búsqueda debe abandonarse.
+     */
+    public boolean isAgotado() {
+        return agotado.get() != null;
+    }
+
+    /**
+     * Obtiene el motivo por el que se agotó el límite.
+     * @return TIMED_OUT o BUDGET_EXCEEDED, o null si no se ha agotado.
+     */
+    public EstadoBusqueda getEstadoAgotado() {
+        return agotado.get();
+    }
+
+    /**
+     * Obtiene el número de expansiones consumidas.
+     * Con divisiones paralelas incluye los lotes reservados, se hayan usado o no.
+     * @return Las expansiones registradas.
+     */
+    public long getExpansions() {
+        return expansions.get();
+    }
+
+    /**
+     * Calcula el estado final de una búsqueda que terminó sin agotar o agotando el límite.
+     * @param found true si la búsqueda encontró la palabra.
+     * @return FOUND, NOT_FOUND o el motivo de agotamiento.
+     */
+    EstadoBusqueda resolve(boolean found) {
+        if (found) {
+            return EstadoBusqueda.FOUND;
+        }
+        EstadoBusqueda estado = agotado.get();
+        return estado != null ? estado : EstadoBusqueda.NOT_FOUND;
+    }
+}
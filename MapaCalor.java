@@ -0,0 +1,113 @@
+package com.mycompany.proyecto1;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de calor del esfuerzo de una búsqueda: cuántas veces se expandió cada celda y
+ * cuántas veces se retrocedió desde ella sin encontrar la palabra.
+ * Los conteos se guardan en arreglos primitivos indexados por celda (fila * columnas + columna).
+ *
+ * Las búsquedas del Grafo lo reciben como parámetro opcional: con null no se registra nada y
+ * el único costo es una comparación por expansión. No es seguro para varios hilos; cada
+ * búsqueda debe usar su propio mapa.
+ */
+public class MapaCalor {
+
+    private final int[] visits;     // Expansiones de cada celda
+    private final int[] backtracks; // Retrocesos desde cada celda (caminos sin salida)
+
+    /**
+     * Constructor para el mapa de calor.
+     * @param cells El número de celdas del tablero (filas * columnas).
+     */
+    public MapaCalor(int cells) {
+        this.visits = new int[cells];
+        this.backtracks = new int[cells];
+    }
+
+    /**
+     * Registra una expansión de una celda.
+     * @param cell La celda (fila * columnas + columna).
+     */
+    public void visit(int cell) {
+        visits[cell]++;
+    }
+
+    /**
+     * Registra un retroceso desde una celda.
+     * @param cell La celda (fila * columnas + columna).
+     */
+    public void backtrack(int cell) {
+        backtracks[cell]++;
+    }
+
+    /**
+     * Pone en cero todos los conteos, para reutilizar el mapa en otra búsqueda.
+     */
+    public void clear() {
+        Arrays.fill(visits, 0);
+        Arrays.fill(backtracks, 0);
+    }
+
+    /**
+     * Obtiene el número de expansiones de una celda.
+     * @param cell La celda (fila * columnas + columna).
+     * @return Las expansiones registradas.
+     */
+    public int getVisits(int cell) {
+        return visits[cell];
+    }
+
+    /**
+     * Obtiene el número de retrocesos desde una celda.
+     * @param cell La celda (fila * columnas + columna).
+     * @return Los retrocesos registrados.
+     */
+    public int getBacktracks(int cell) {
+        return backtracks[cell];
+    }
+
+    /**
+     * Obtiene el mayor número de expansiones entre todas las celdas.
+     * @return El máximo, o 0 si no se registró nada.
+     */
+    public int getMaxVisits() {
+        int max = 0;
+        for (int v : visits) {
+            max = Math.max(max, v);
+        }
+        return max;
+    }
+
+    /**
+     * Obtiene el total de expansiones registradas.
+     * @return La suma de las expansiones de todas las celdas.
+     */
+    public long getTotalVisits() {
+        long total = 0;
+        for (int v : visits) {
+            total += v;
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene el total de retrocesos registrados.
+     * @return La suma de los retrocesos de todas las celdas.
+     */
+    public long getTotalBacktracks() {
+        long total = 0;
+        for (int b : backtracks) {
+            total += b;
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene el número de celdas del mapa.
+     * @return Las celdas (filas * columnas).
+     */
+    public int size() {
+        return visits.length;
+    }
+}
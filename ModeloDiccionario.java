@@ -0,0 +1,68 @@
+package com.mycompany.proyecto1;
+
+import javax.swing.AbstractListModel;
+import java.util.List;
+
+/**
+ * Modelo de lista para mostrar el diccionario en un JList.
+ * Envuelve la lista de palabras del Buscador sin copiarla; el JList solo dibuja
+ * las filas visibles, y los cambios se notifican por intervalos en lugar de
+ * reconstruir todo el texto del diccionario.
+ */
+public class ModeloDiccionario extends AbstractListModel<String> {
+
+    private final List<String> words;
+    private int knownSize; // Tamaño que conoce el JList (el de la última notificación)
+
+    /**
+     * Constructor para el modelo.
+     * @param words La lista de palabras del diccionario (compartida, no se copia).
+     */
+    public ModeloDiccionario(List<String> words) {
+        this.words = words;
+    }
+
+    @Override
+    public int getSize() {
+        return words.size();
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        return words.get(index);
+    }
+
+    /**
+     * Notifica que se añadió una palabra al final del diccionario.
+     */
+    public void wordAdded() {
+        int index = words.size() - 1;
+        knownSize = words.size();
+        fireIntervalAdded(this, index, index);
+    }
+
+    /**
+     * Notifica que se eliminó una palabra del diccionario.
+     * @param index La posición que ocupaba la palabra.
+     */
+    public void wordRemoved(int index) {
+        knownSize = words.size();
+        fireIntervalRemoved(this, index, index);
+    }
+
+    /**
+     * Notifica que el diccionario cambió por completo (por ejemplo, al cargar un archivo).
+     * Se emiten solo dos eventos, sin importar cuántas palabras cambiaron.
+     */
+    public void reloaded() {
+        if (knownSize > 0) {
+            int previous = knownSize;
+            knownSize = 0;
+            fireIntervalRemoved(this, 0, previous - 1);
+        }
+        knownSize = words.size();
+        if (knownSize > 0) {
+            fireIntervalAdded(this, 0, knownSize - 1);
+        }
+    }
+}
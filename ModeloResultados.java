@@ -0,0 +1,95 @@
+package com.mycompany.proyecto1;
+
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Modelo de tabla para los resultados de la búsqueda del diccionario.
+ * Lee directamente de la SolucionDiccionario, sin copiar los resultados; la tabla solo
+ * dibuja las filas visibles, y el ordenamiento y los filtros (TableRowSorter) trabajan
+ * sobre índices de fila en lugar de duplicar los datos.
+ */
+public class ModeloResultados extends AbstractTableModel {
+
+    public static final int COLUMNA_PALABRA = 0;
+    public static final int COLUMNA_ESTADO = 1;
+    public static final int COLUMNA_LONGITUD = 2;
+
+    private static final String[] COLUMNAS = {"Palabra", "Estado", "Longitud"};
+
+    private SolucionDiccionario solucion; // null si todavía no hay resultados
+
+    /**
+     * Establece la solución del diccionario que se muestra, notificando el cambio en un solo evento.
+     * @param solucion La nueva solución, o null para vaciar la tabla.
+     */
+    public void setSolucion(SolucionDiccionario solucion) {
+        this.solucion = solucion;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Notifica que cambiaron los resultados de la solución actual (por ejemplo, tras editar una celda).
+     */
+    public void resultsChanged() {
+        fireTableRowsUpdated(0, Math.max(0, getRowCount() - 1));
+    }
+
+    /**
+     * Obtiene el estado de búsqueda de una fila del modelo.
+     * @param row La fila (índice del modelo, no de la vista).
+     * @return El estado de la palabra.
+     */
+    public EstadoBusqueda getEstado(int row) {
+        return solucion.getEstado(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return solucion == null ? 0 : solucion.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNAS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == COLUMNA_LONGITUD ? Integer.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        switch (column) {
+            case COLUMNA_PALABRA:
+                return solucion.getWord(row);
+            case COLUMNA_ESTADO:
+                return describeEstado(solucion.getEstado(row));
+            default:
+                return solucion.getWord(row).length();
+        }
+    }
+
+    /**
+     * Texto que se muestra para cada estado de búsqueda.
+     * @param estado El estado.
+     * @return La descripción del estado.
+     */
+    public static String describeEstado(EstadoBusqueda estado) {
+        switch (estado) {
+            case FOUND:
+                return "ENCONTRADA";
+            case TIMED_OUT:
+                return "TIEMPO AGOTADO";
+            case BUDGET_EXCEEDED:
+                return "LÍMITE DE EXPANSIONES AGOTADO";
+            default:
+                return "NO ENCONTRADA";
+        }
+    }
+}
@@ -7,9 +7,9 @@ import java.util.Objects;
  * Cada nodo contiene una letra, su fila y su columna.
  */
 public class Node {
-    private char value; // La letra en esta celda.
-    private int row;    // La fila de la celda en el tablero.
-    private int col;    // La columna de la celda en el tablero.
+    private final char value; // La letra en esta celda.
+    private final int row;    // La fila de la celda en el tablero.
+    private final int col;    // La columna de la celda en el tablero.
 
     /**
      * Constructor para crear un nuevo nodo.
@@ -0,0 +1,145 @@
+package com.mycompany.proyecto1;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator que enumera todas las ocurrencias (caminos simples distintos) de una palabra
+ * en el tablero. Usa un DFS con pila explícita para poder entregar un camino a la vez,
+ * y se divide repartiendo el rango de celdas candidatas iniciales.
+ */
+class OcurrenciasSpliterator implements Spliterator<int[]> {
+
+    private final Grafo grafo;
+    private final String word;
+    private final LimiteBusqueda limite; // Límite de expansiones/tiempo (compartido entre divisiones); null si no hay
+    private long reservadas;             // Expansiones del lote reservado que esta división aún no usa
+    private final int[] startCells; // Celdas que contienen la primera letra de la palabra
+    private int nextStart; // Siguiente posición de startCells por probar
+    private int endStart;  // Fin (exclusivo) del rango de startCells
+
+    // Estado del DFS actual
+    private final int[] path;        // Celdas del camino actual
+    private final int[] nextDir;     // Siguiente dirección por probar en cada nivel
+    private final boolean[] visited; // Celdas usadas en el camino actual
+    private int depth;               // Longitud del camino actual
+
+    /**
+     * Constructor para el spliterator.
+     * @param grafo El grafo del tablero.
+     * @param word La palabra a buscar (no vacía).
+     * @param startCells Las celdas candidatas iniciales.
+     * @param startFrom Primera posición del rango de startCells.
+     * @param startTo Fin exclusivo del rango de startCells.
+     * @param limite El límite de la enumeración, o null para no limitar.
+     */
+    OcurrenciasSpliterator(Grafo grafo, String word, int[] startCells, int startFrom, int startTo,
+                           LimiteBusqueda limite) {
+        this.grafo = grafo;
+        this.word = word;
+        this.limite = limite;
+        this.startCells = startCells;
+        this.nextStart = startFrom;
+        this.endStart = startTo;
+        this.path = new int[word.length()];
+        this.nextDir = new int[word.length()];
+        this.visited = new boolean[grafo.getRows() * grafo.getCols()];
+        this.depth = 0;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super int[]> action) {
+        while (true) {
+            if (depth == 0) {
+                // Tomar la siguiente celda candidata (ya coincide con la primera letra)
+                if (nextStart >= endStart) {
+                    return false;
+                }
+                push(startCells[nextStart++]);
+                if (depth == 0) {
+                    return false; // El límite se agotó
+                }
+            } else {
+                int top = depth - 1;
+                if (nextDir[top] == 8) {
+                    pop(); // Retroceder (backtrack)
+                    continue;
+                }
+                int neighbor = grafo.getNeighborCell(path[top], nextDir[top]++);
+                if (neighbor < 0 || visited[neighbor] || grafo.getValue(neighbor) != word.charAt(depth)) {
+                    continue;
+                }
+                push(neighbor);
+                if (depth == 0) {
+                    return false; // El límite se agotó
+                }
+            }
+
+            if (depth == word.length()) {
+                int[] occurrence = path.clone();
+                pop();
+                action.accept(occurrence);
+                return true;
+            }
+        }
+    }
+
+    private void push(int cell) {
+        if (!consume()) {
+            // Límite agotado: abandonar el DFS y las celdas iniciales restantes
+            depth = 0;
+            nextStart = endStart;
+            return;
+        }
+        path[depth] = cell;
+        nextDir[depth] = 0;
+        visited[cell] = true;
+        depth++;
+    }
+
+    // Consume una expansión del lote reservado; al acabarse se reserva otro del límite compartido,
+    // para que las divisiones paralelas no compitan por el contador en cada expansión
+    private boolean consume() {
+        if (limite == null) {
+            return true;
+        }
+        if (reservadas == 0) {
+            reservadas = limite.reserve(LimiteBusqueda.INTERVALO_RELOJ);
+            if (reservadas == 0) {
+                return false;
+            }
+        }
+        reservadas--;
+        return true;
+    }
+
+    private void pop() {
+        depth--;
+        visited[path[depth]] = false;
+    }
+
+    @Override
+    public Spliterator<int[]> trySplit() {
+        // Solo se reparten las celdas iniciales que aún no se han empezado a explorar, y no a
+        // mitad de un DFS: sus caminos pendientes van antes que cualquier celda sin explorar
+        int remaining = endStart - nextStart;
+        if (remaining < 2 || depth > 0) {
+            return null;
+        }
+        // Al ser ORDERED, la parte nueva debe ser el prefijo: se entrega la primera mitad
+        int mid = nextStart + remaining / 2;
+        OcurrenciasSpliterator prefix = new OcurrenciasSpliterator(grafo, word, startCells, nextStart, mid, limite);
+        nextStart = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE; // El número de ocurrencias no se conoce de antemano
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
@@ -0,0 +1,51 @@
+package com.mycompany.proyecto1;
+
+/**
+ * Una palabra del tablero con su puntaje y el camino donde se encontró.
+ */
+public class PalabraPuntuada {
+    private final String word;
+    private final int score;
+    private final int[] path; // Celdas del camino (fila * columnas + columna)
+
+    /**
+     * Constructor para una palabra puntuada.
+     * @param word La palabra formada.
+     * @param score El puntaje de la palabra.
+     * @param path Las celdas del camino, en orden.
+     */
+    public PalabraPuntuada(String word, int score, int[] path) {
+        this.word = word;
+        this.score = score;
+        this.path = path;
+    }
+
+    /**
+     * Obtiene la palabra formada.
+     * @return La palabra.
+     */
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Obtiene el puntaje de la palabra.
+     * @return El puntaje.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Obtiene el camino donde se encontró la palabra.
+     * @return Las celdas del camino, en orden.
+     */
+    public int[] getPath() {
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return word + " (" + score + ")";
+    }
+}
@@ -2,10 +2,6 @@ package com.mycompany.proyecto1;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.HashSet;
 
 /**
  * Panel personalizado para visualizar el tablero de la sopa de letras
@@ -15,6 +11,9 @@ public class PanelBFST extends JPanel {
 
     private char[][] board;
     private ResultadoBFS bfsResult; // Ahora usa ResultadoBFS
+    private SolucionDiccionario solucion; // Resultados del diccionario, con el índice celda -> palabras
+    private MapaCalor mapaCalor;          // Esfuerzo de la última búsqueda por celda, o null
+    private int hoveredCell = -1;         // Celda bajo el ratón (fila * columnas + columna), o -1
     private final int CELL_SIZE = 50;
     private final int PADDING = 20;
 
@@ -25,6 +24,20 @@ public class PanelBFST extends JPanel {
     public PanelBFST() {
         setPreferredSize(new Dimension(CELL_SIZE * 4 + PADDING * 2, CELL_SIZE * 4 + PADDING * 2));
         setBackground(Color.WHITE);
+
+        // Al pasar el ratón sobre una celda se muestran las palabras encontradas que pasan por ella
+        addMouseMotionListener(new java.awt.event.MouseMotionAdapter() {
+            @Override
+            public void mouseMoved(java.awt.event.MouseEvent e) {
+                updateHoveredCell(e.getX(), e.getY());
+            }
+        });
+        addMouseListener(new java.awt.event.MouseAdapter() {
+            @Override
+            public void mouseExited(java.awt.event.MouseEvent e) {
+                updateHoveredCell(-1, -1);
+            }
+        });
     }
 
     /**
@@ -33,6 +46,9 @@ public class PanelBFST extends JPanel {
      */
     public void setBoard(char[][] board) {
         this.board = board;
+        this.solucion = null; // Los resultados anteriores ya no corresponden al tablero
+        this.mapaCalor = null;
+        this.hoveredCell = -1;
         repaint(); // Vuelve a dibujar el panel cuando el tablero cambia
     }
 
@@ -46,6 +62,59 @@ public class PanelBFST extends JPanel {
         repaint(); // Vuelve a dibujar el panel cuando los resultados del BFS cambian
     }
 
+    /**
+     * Establece los resultados del diccionario para consultar al pasar el ratón sobre una celda.
+     * @param solucion La solución del diccionario sobre el tablero actual.
+     */
+    public void setSolucionDiccionario(SolucionDiccionario solucion) {
+        this.solucion = solucion;
+        repaint();
+    }
+
+    /**
+     * Establece el mapa de calor que se dibuja sobre el tablero.
+     * Cada celda se colorea según sus expansiones, en escala logarítmica respecto de la más visitada,
+     * y muestra sus expansiones y retrocesos en la esquina.
+     * @param mapaCalor El mapa de calor de una búsqueda sobre el tablero actual, o null para ocultarlo.
+     */
+    public void setMapaCalor(MapaCalor mapaCalor) {
+        this.mapaCalor = mapaCalor;
+        repaint();
+    }
+
+    // Calcula la celda bajo el ratón y actualiza el texto de ayuda con las palabras que pasan por ella
+    private void updateHoveredCell(int mouseX, int mouseY) {
+        int cell = -1;
+        if (board != null && mouseX >= PADDING && mouseY >= PADDING) {
+            int r = (mouseY - PADDING) / CELL_SIZE;
+            int c = (mouseX - PADDING) / CELL_SIZE;
+            if (r < board.length && c < board[0].length) {
+                cell = r * board[0].length + c;
+            }
+        }
+        if (cell == hoveredCell) {
+            return;
+        }
+        hoveredCell = cell;
+
+        if (solucion != null && cell >= 0) {
+            // Consulta directa al índice: solo se recorren las palabras que pasan por la celda
+            int[] wordIds = solucion.getWordsThroughCell(cell);
+            if (wordIds.length == 0) {
+                setToolTipText("Ninguna palabra encontrada pasa por esta celda.");
+            } else {
+                StringBuilder sb = new StringBuilder("<html>Palabras que pasan por esta celda:");
+                for (int id : wordIds) {
+                    sb.append("<br>").append(solucion.getWord(id));
+                }
+                setToolTipText(sb.append("</html>").toString());
+            }
+        } else {
+            setToolTipText(null);
+        }
+        repaint();
+    }
+
     /**
      * Método de pintura principal para el panel.
      * Dibuja el tablero, y opcionalmente el camino encontrado o la expansión del BFS.
@@ -63,6 +132,10 @@ public class PanelBFST extends JPanel {
             return;
         }
 
+        if (mapaCalor != null) {
+            paintHeatmap(g2d);
+        }
+
         // Dibujar el tablero de fondo
         g2d.setColor(Color.LIGHT_GRAY);
         g2d.setStroke(new BasicStroke(1));
@@ -82,55 +155,117 @@ public class PanelBFST extends JPanel {
             }
         }
 
-        if (bfsResult != null && bfsResult.isPathFound()) {
-            // Dibujar el camino encontrado (resaltado)
-            g2d.setColor(new Color(0, 150, 0, 150)); // Verde semi-transparente
+        int cols = board[0].length; // Las celdas del resultado vienen como fila * columnas + columna
+
+        if (mapaCalor != null) {
+            // Expansiones/retrocesos de cada celda en la esquina superior izquierda
+            g2d.setFont(new Font("SansSerif", Font.PLAIN, 9));
+            for (int cell = 0; cell < mapaCalor.size(); cell++) {
+                if (mapaCalor.getVisits(cell) > 0) {
+                    g2d.setColor(Color.DARK_GRAY);
+                    g2d.drawString(mapaCalor.getVisits(cell) + "/" + mapaCalor.getBacktracks(cell),
+                            PADDING + (cell % cols) * CELL_SIZE + 3, PADDING + (cell / cols) * CELL_SIZE + 11);
+                }
+            }
+        }
+
+        if (bfsResult != null && bfsResult.getPathCells().length > 0) {
+            // Dibujar el camino encontrado (resaltado); si la búsqueda se abandonó, es el último
+            // camino válido y se dibuja en gris
+            boolean abandoned = !bfsResult.isPathFound();
+            g2d.setColor(abandoned ? new Color(120, 120, 120, 150) : new Color(0, 150, 0, 150)); // Verde semi-transparente
             g2d.setStroke(new BasicStroke(3)); // Línea más gruesa
 
-            List<Node> path = bfsResult.getFoundPath();
-            for (int i = 0; i < path.size() - 1; i++) {
-                Node n1 = path.get(i);
-                Node n2 = path.get(i + 1);
-                int x1 = PADDING + n1.getCol() * CELL_SIZE + CELL_SIZE / 2;
-                int y1 = PADDING + n1.getRow() * CELL_SIZE + CELL_SIZE / 2;
-                int x2 = PADDING + n2.getCol() * CELL_SIZE + CELL_SIZE / 2;
-                int y2 = PADDING + n2.getRow() * CELL_SIZE + CELL_SIZE / 2;
+            int[] path = bfsResult.getPathCells();
+            for (int i = 0; i < path.length - 1; i++) {
+                int x1 = PADDING + (path[i] % cols) * CELL_SIZE + CELL_SIZE / 2;
+                int y1 = PADDING + (path[i] / cols) * CELL_SIZE + CELL_SIZE / 2;
+                int x2 = PADDING + (path[i + 1] % cols) * CELL_SIZE + CELL_SIZE / 2;
+                int y2 = PADDING + (path[i + 1] / cols) * CELL_SIZE + CELL_SIZE / 2;
                 g2d.drawLine(x1, y1, x2, y2);
             }
 
             // Dibujar círculos en los nodos del camino
-            for (Node n : path) {
-                int x = PADDING + n.getCol() * CELL_SIZE;
-                int y = PADDING + n.getRow() * CELL_SIZE;
-                g2d.setColor(new Color(0, 200, 0, 200)); // Verde más sólido
+            for (int cell : path) {
+                int x = PADDING + (cell % cols) * CELL_SIZE;
+                int y = PADDING + (cell / cols) * CELL_SIZE;
+                g2d.setColor(abandoned ? new Color(120, 120, 120, 200) : new Color(0, 200, 0, 200)); // Verde más sólido
                 g2d.fillOval(x + CELL_SIZE / 4, y + CELL_SIZE / 4, CELL_SIZE / 2, CELL_SIZE / 2);
             }
-        } else if (bfsResult != null && !bfsResult.isPathFound() && bfsResult.getStartNode() != null) {
+            if (abandoned) {
+                g2d.setColor(Color.DARK_GRAY);
+                g2d.setFont(new Font("SansSerif", Font.PLAIN, 11));
+                g2d.drawString("Búsqueda abandonada: " + ModeloResultados.describeEstado(bfsResult.getEstado()),
+                        PADDING, PADDING - 5);
+            }
+        } else if (bfsResult != null && !bfsResult.isPathFound() && bfsResult.getStartCell() >= 0) {
             // Si la palabra no fue encontrada, pero hubo una búsqueda BFS (mostrando la expansión general)
-            g2d.setColor(new Color(255, 165, 0, 100)); // Naranja semi-transparente para nodos explorados
             g2d.setStroke(new BasicStroke(1));
 
-            Map<Node, Node> parentMap = bfsResult.getParentMap();
-            Set<Node> exploredNodes = new HashSet<>(parentMap.keySet());
-            exploredNodes.add(bfsResult.getStartNode()); // Asegurarse de que el nodo inicial también se muestre
+            // Se recorre directamente el arreglo de padres, sin copiar las celdas exploradas
+            int[] parents = bfsResult.getParents();
+            int startCell = bfsResult.getStartCell();
+            for (int cell = 0; cell < parents.length; cell++) {
+                int parent = parents[cell];
+                if (parent == ResultadoBFS.SIN_PADRE && cell != startCell) {
+                    continue; // Celda no explorada
+                }
 
-            for (Node node : exploredNodes) {
-                // Resaltar los nodos visitados
-                int x = PADDING + node.getCol() * CELL_SIZE;
-                int y = PADDING + node.getRow() * CELL_SIZE;
+                // Resaltar los nodos visitados (incluido el nodo inicial)
+                int x = PADDING + (cell % cols) * CELL_SIZE;
+                int y = PADDING + (cell / cols) * CELL_SIZE;
+                g2d.setColor(new Color(255, 165, 0, 100)); // Naranja semi-transparente para nodos explorados
                 g2d.fillOval(x + CELL_SIZE / 4, y + CELL_SIZE / 4, CELL_SIZE / 2, CELL_SIZE / 2);
 
                 // Dibujar líneas a los padres (representando el árbol de búsqueda)
-                Node parent = parentMap.get(node);
-                if (parent != null) {
-                    int x1 = PADDING + parent.getCol() * CELL_SIZE + CELL_SIZE / 2;
-                    int y1 = PADDING + parent.getRow() * CELL_SIZE + CELL_SIZE / 2;
-                    int x2 = PADDING + node.getCol() * CELL_SIZE + CELL_SIZE / 2;
-                    int y2 = PADDING + node.getRow() * CELL_SIZE + CELL_SIZE / 2;
+                if (parent != ResultadoBFS.SIN_PADRE) {
+                    int x1 = PADDING + (parent % cols) * CELL_SIZE + CELL_SIZE / 2;
+                    int y1 = PADDING + (parent / cols) * CELL_SIZE + CELL_SIZE / 2;
+                    int x2 = x + CELL_SIZE / 2;
+                    int y2 = y + CELL_SIZE / 2;
                     g2d.setColor(new Color(255, 140, 0, 150)); // Naranja más oscuro
                     g2d.drawLine(x1, y1, x2, y2);
                 }
             }
         }
+
+        if (solucion != null && hoveredCell >= 0) {
+            // Dibujar los caminos de las palabras encontradas que pasan por la celda bajo el ratón
+            g2d.setColor(new Color(0, 90, 200, 120)); // Azul semi-transparente
+            g2d.setStroke(new BasicStroke(2));
+            for (int id : solucion.getWordsThroughCell(hoveredCell)) {
+                int[] path = solucion.getPath(id);
+                for (int i = 0; i < path.length - 1; i++) {
+                    int x1 = PADDING + (path[i] % cols) * CELL_SIZE + CELL_SIZE / 2;
+                    int y1 = PADDING + (path[i] / cols) * CELL_SIZE + CELL_SIZE / 2;
+                    int x2 = PADDING + (path[i + 1] % cols) * CELL_SIZE + CELL_SIZE / 2;
+                    int y2 = PADDING + (path[i + 1] / cols) * CELL_SIZE + CELL_SIZE / 2;
+                    g2d.drawLine(x1, y1, x2, y2);
+                }
+            }
+            int x = PADDING + (hoveredCell % cols) * CELL_SIZE;
+            int y = PADDING + (hoveredCell / cols) * CELL_SIZE;
+            g2d.drawRect(x + 2, y + 2, CELL_SIZE - 4, CELL_SIZE - 4);
+        }
+    }
+
+    // Rellena cada celda con rojo más intenso cuanto más se expandió; la escala es logarítmica
+    // para que las zonas calientes no oculten a las templadas
+    private void paintHeatmap(Graphics2D g2d) {
+        int max = mapaCalor.getMaxVisits();
+        if (max == 0) {
+            return;
+        }
+        int cols = board[0].length;
+        double scale = Math.log1p(max);
+        for (int cell = 0; cell < mapaCalor.size(); cell++) {
+            int visits = mapaCalor.getVisits(cell);
+            if (visits == 0) {
+                continue;
+            }
+            int alpha = 30 + (int) (170 * Math.log1p(visits) / scale);
+            g2d.setColor(new Color(255, 40, 0, alpha));
+            g2d.fillRect(PADDING + (cell % cols) * CELL_SIZE, PADDING + (cell / cols) * CELL_SIZE, CELL_SIZE, CELL_SIZE);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,329 @@
+package com.mycompany.proyecto1;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Prueba de carga de lazo abierto: envía consultas de palabra específica a un Grafo a una
+ * tasa fija, sin esperar a que terminen las anteriores, como llegarían las peticiones de
+ * usuarios reales.
+ *
+ * La latencia de cada consulta se mide desde el instante en que debía empezar según la tasa
+ * (corrección de "omisión coordinada"): si el sistema se atrasa, el tiempo que la consulta
+ * pasa esperando también cuenta. Además se reporta el tiempo de servicio (desde que la
+ * consulta realmente empezó), que es lo que mediría un benchmark de lazo cerrado.
+ *
+ * Uso: java com.mycompany.proyecto1.PruebaCarga --archivo sopa.txt [--consultas palabras.txt]
+ *      [--tasa 1000] [--duracion 10] [--calentamiento 2] [--hilos N]
+ *      [--motores DFS,BFS,BIDIRECCIONAL,VISUALIZACION] [--tiempo 2000] [--expansiones 5000000] [--semilla 42]
+ *
+ * Sin --consultas se usan las palabras del diccionario del archivo, en orden aleatorio.
+ */
+public class PruebaCarga {
+
+    /**
+     * Forma de resolver cada consulta.
+     */
+    public enum Motor {
+        DFS,           // Grafo.searchWordDFS
+        BFS,           // Grafo.searchWordBFS
+        BIDIRECCIONAL, // Grafo.searchWordBidirectional
+        VISUALIZACION  // Grafo.searchWordBFSForVisualization, como la búsqueda de palabra específica
+    }
+
+    /** Percentiles reportados. */
+    private static final double[] PERCENTILES = {0.50, 0.90, 0.99, 0.999};
+
+    private static final long ESPERA_ACTIVA_NANOS = 100_000; // Margen final que se espera sin dormir
+
+    private final Grafo grafo;
+    private final List<String> consultas;
+    private final double tasa;        // Consultas por segundo
+    private final int hilos;          // Hilos que atienden las consultas
+    private final long timeoutMillis; // Límite de tiempo por consulta
+    private final long maxExpansions; // Límite de expansiones por consulta
+
+    /**
+     * Constructor para la prueba.
+     * @param grafo El tablero sobre el que se busca.
+     * @param consultas Las palabras a buscar; se repiten en ciclo si la prueba dura más.
+     * @param tasa Consultas por segundo.
+     * @param hilos Hilos que atienden las consultas.
+     * @param timeoutMillis Límite de tiempo por consulta; 0 para no limitar.
+     * @param maxExpansions Límite de expansiones por consulta; 0 para no limitar.
+     */
+    public PruebaCarga(Grafo grafo, List<String> consultas, double tasa, int hilos, long timeoutMillis, long maxExpansions) {
+        if (consultas.isEmpty() || tasa <= 0 || hilos <= 0) {
+            throw new IllegalArgumentException("Se necesitan consultas, una tasa positiva y al menos un hilo.");
+        }
+        this.grafo = grafo;
+        this.consultas = consultas;
+        this.tasa = tasa;
+        this.hilos = hilos;
+        this.timeoutMillis = timeoutMillis;
+        this.maxExpansions = maxExpansions;
+    }
+
+    /**
+     * Resultado de una ejecución de la prueba con un motor.
+     */
+    public static class Resumen {
+        private final Motor motor;
+        private final long[] latencias;  // Desde el inicio previsto, en nanosegundos, ordenadas
+        private final long[] servicio;   // Desde el inicio real, en nanosegundos, ordenadas
+        private final double segundos;   // Duración real de la ejecución
+        private final long gcCount;      // Recolecciones de basura durante la ejecución
+        private final long gcMillis;     // Tiempo acumulado de recolección durante la ejecución
+
+        Resumen(Motor motor, long[] latencias, long[] servicio, double segundos, long gcCount, long gcMillis) {
+            this.motor = motor;
+            this.latencias = latencias;
+            this.servicio = servicio;
+            this.segundos = segundos;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+            Arrays.sort(this.latencias);
+            Arrays.sort(this.servicio);
+        }
+
+        /**
+         * Obtiene un percentil de la latencia corregida.
+         * @param p El percentil, entre 0 y 1.
+         * @return La latencia en milisegundos.
+         */
+        public double getLatencia(double p) {
+            return percentile(latencias, p);
+        }
+
+        /**
+         * Obtiene un percentil del tiempo de servicio (sin corrección).
+         * @param p El percentil, entre 0 y 1.
+         * @return El tiempo en milisegundos.
+         */
+        public double getServicio(double p) {
+            return percentile(servicio, p);
+        }
+
+        /**
+         * Obtiene el rendimiento alcanzado.
+         * @return Consultas completadas por segundo.
+         */
+        public double getRendimiento() {
+            return latencias.length / segundos;
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Motor %s: %d consultas en %.2f s (%.0f consultas/s)%n",
+                    motor, latencias.length, segundos, getRendimiento()));
+            sb.append("  latencia (ms):");
+            for (double p : PERCENTILES) {
+                sb.append(String.format(" p%s=%.3f", formatPercentile(p), getLatencia(p)));
+            }
+            sb.append(String.format(" max=%.3f%n", getLatencia(1.0)));
+            sb.append("  servicio (ms):");
+            for (double p : PERCENTILES) {
+                sb.append(String.format(" p%s=%.3f", formatPercentile(p), getServicio(p)));
+            }
+            sb.append(String.format(" max=%.3f%n", getServicio(1.0)));
+            sb.append(String.format("  GC: %d recolecciones, %d ms%n", gcCount, gcMillis));
+            return sb.toString();
+        }
+
+        private static String formatPercentile(double p) {
+            String s = Double.toString(p * 100);
+            return s.endsWith(".0") ? s.substring(0, s.length() - 2) : s;
+        }
+    }
+
+    /**
+     * Ejecuta la prueba con un motor durante un tiempo dado.
+     * @param motor La forma de resolver cada consulta.
+     * @param durationMillis La duración de la prueba.
+     * @return Los percentiles de latencia, el rendimiento y las pausas de GC.
+     * @throws InterruptedException Si se interrumpe la espera de los hilos.
+     */
+    public Resumen run(Motor motor, long durationMillis) throws InterruptedException {
+        int total = (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, (long) (tasa * durationMillis / 1000.0)));
+        long[] latencias = new long[total];
+        long[] servicio = new long[total];
+        AtomicInteger next = new AtomicInteger();
+        double periodNanos = 1e9 / tasa;
+
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long start = System.nanoTime() + 10_000_000L; // Margen para que arranquen todos los hilos
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < hilos; t++) {
+            Thread thread = new Thread(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < total) {
+                    long intended = start + (long) (i * periodNanos);
+                    long delay;
+                    while ((delay = intended - System.nanoTime()) > 0) {
+                        // parkNanos suele despertar tarde; los últimos microsegundos se esperan activamente
+                        if (delay > ESPERA_ACTIVA_NANOS) {
+                            LockSupport.parkNanos(delay - ESPERA_ACTIVA_NANOS);
+                        } else {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    long begin = System.nanoTime();
+                    execute(motor, consultas.get(i % consultas.size()));
+                    long end = System.nanoTime();
+                    latencias[i] = end - intended; // Incluye la espera si la consulta empezó tarde
+                    servicio[i] = end - begin;
+                }
+            }, "carga-" + t);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        return new Resumen(motor, latencias, servicio, seconds,
+                gcCount() - gcCountBefore, gcMillis() - gcMillisBefore);
+    }
+
+    // Resuelve una consulta con el motor indicado
+    private void execute(Motor motor, String word) {
+        LimiteBusqueda limite = new LimiteBusqueda(timeoutMillis, maxExpansions);
+        switch (motor) {
+            case DFS:
+                grafo.searchWordDFS(word, limite);
+                break;
+            case BFS:
+                grafo.searchWordBFS(word, limite);
+                break;
+            case BIDIRECCIONAL:
+                grafo.searchWordBidirectional(word, limite);
+                break;
+            default:
+                grafo.searchWordBFSForVisualization(word, limite);
+                break;
+        }
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    // Lee un archivo de consultas grabadas: una palabra por línea, en mayúsculas o no
+    private static List<String> readQueries(File file) throws IOException {
+        List<String> queries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim().toUpperCase();
+                if (!word.isEmpty()) {
+                    queries.add(word);
+                }
+            }
+        }
+        return queries;
+    }
+
+    public static void main(String[] args) {
+        String archivo = null;
+        String consultasArchivo = null;
+        double tasa = 1000;
+        long duracion = 10;
+        long calentamiento = 2;
+        int hilos = Runtime.getRuntime().availableProcessors();
+        String motores = "DFS,BFS,BIDIRECCIONAL,VISUALIZACION";
+        long timeoutMillis = 2000;
+        long maxExpansions = 5_000_000;
+        long seed = 42;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--archivo": archivo = value; break;
+                case "--consultas": consultasArchivo = value; break;
+                case "--tasa": tasa = Double.parseDouble(value); break;
+                case "--duracion": duracion = Long.parseLong(value); break;
+                case "--calentamiento": calentamiento = Long.parseLong(value); break;
+                case "--hilos": hilos = Integer.parseInt(value); break;
+                case "--motores": motores = value; break;
+                case "--tiempo": timeoutMillis = Long.parseLong(value); break;
+                case "--expansiones": maxExpansions = Long.parseLong(value); break;
+                case "--semilla": seed = Long.parseLong(value); break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(1);
+            }
+        }
+        if (archivo == null) {
+            System.err.println("Falta la opción --archivo <archivo>.");
+            System.exit(1);
+        }
+
+        try {
+            Alfabeto alfabeto = new Alfabeto(System.getProperty("sopa.alfabeto", Alfabeto.ESPANOL.toString()));
+            ReporteValidacion reporte = new ReporteValidacion();
+            ArchivoSopa sopa = ArchivoSopa.leer(new File(archivo), alfabeto, 3, reporte);
+            if (sopa == null || sopa.getBoard() == null) {
+                System.err.print(reporte);
+                System.exit(1);
+            }
+            List<String> consultas = consultasArchivo != null
+                    ? readQueries(new File(consultasArchivo))
+                    : new ArrayList<>(sopa.getWords());
+            if (consultasArchivo == null) {
+                Collections.shuffle(consultas, new Random(seed));
+            }
+
+            PruebaCarga prueba = new PruebaCarga(new Grafo(sopa.getBoard(), alfabeto), consultas, tasa, hilos,
+                    timeoutMillis, maxExpansions);
+            System.out.printf("Tablero %dx%d, %d consultas distintas, tasa objetivo %.0f/s, %d hilos%n",
+                    sopa.getBoard().length, sopa.getBoard()[0].length, consultas.size(), tasa, hilos);
+            for (String nombre : motores.split(",")) {
+                Motor motor = Motor.valueOf(nombre.trim().toUpperCase());
+                if (calentamiento > 0) {
+                    prueba.run(motor, calentamiento * 1000); // Calentamiento del JIT; no se reporta
+                }
+                System.out.print(prueba.run(motor, duracion * 1000));
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.mycompany.proyecto1;
+
+/**
+ * Reglas de puntuación de las palabras para el modo de juego.
+ * El puntaje de una palabra es la suma de los puntos de sus letras (más puntos cuanto más
+ * rara es la letra) más un bono por longitud. Ambas partes son aditivas y no negativas, lo
+ * que permite acotar el puntaje de cualquier palabra que extienda un prefijo.
+ */
+public class Puntuacion {
+
+    /** Bono por longitud al estilo de Boggle: índice = longitud de la palabra (8 o más usa el último). */
+    private static final int[] BONO_LONGITUD = {0, 0, 0, 1, 1, 2, 3, 5, 11};
+
+    /** Puntos de las letras que no están en la tabla de frecuencias (Ñ, vocales acentuadas, Ü...). */
+    private static final int PUNTOS_LETRA_ESPECIAL = 8;
+
+    private static final int MAX_PUNTOS_LETRA = 10;
+
+    private final Alfabeto alfabeto;
+    private final int[] letterPoints; // Puntos de cada letra, indexados por código del alfabeto
+
+    /**
+     * Constructor con puntos explícitos por letra.
+     * @param alfabeto El alfabeto de las palabras.
+     * @param letterPoints Los puntos de cada letra, indexados por código del alfabeto.
+     * @throws IllegalArgumentException Si el arreglo no cubre el alfabeto o tiene puntos negativos.
+     */
+    public Puntuacion(Alfabeto alfabeto, int[] letterPoints) {
+        if (letterPoints.length != alfabeto.size()) {
+            throw new IllegalArgumentException("Se esperaban puntos para " + alfabeto.size() + " letras.");
+        }
+        for (int p : letterPoints) {
+            if (p < 0) {
+                throw new IllegalArgumentException("Los puntos de las letras no pueden ser negativos.");
+            }
+        }
+        this.alfabeto = alfabeto;
+        this.letterPoints = letterPoints.clone();
+    }
+
+    /**
+     * Crea la puntuación por rareza según la frecuencia de las letras en español: la letra más
+     * frecuente vale 1 punto y cada vez que la frecuencia se reduce a la mitad se suma un punto,
+     * hasta un máximo de 10.
+     * @param alfabeto El alfabeto de las palabras.
+     * @return La puntuación.
+     */
+    public static Puntuacion porRareza(Alfabeto alfabeto) {
+        double max = 0;
+        for (double f : GeneradorSopa.FRECUENCIA_ESPANOL) {
+            max = Math.max(max, f);
+        }
+        int[] points = new int[alfabeto.size()];
+        for (int code = 0; code < points.length; code++) {
+            int i = GeneradorSopa.LETRAS.indexOf(alfabeto.symbol(code));
+            if (i < 0) {
+                points[code] = PUNTOS_LETRA_ESPECIAL;
+            } else {
+                long rareza = Math.round(Math.log(max / GeneradorSopa.FRECUENCIA_ESPANOL[i]) / Math.log(2));
+                points[code] = (int) Math.min(MAX_PUNTOS_LETRA, 1 + rareza);
+            }
+        }
+        return new Puntuacion(alfabeto, points);
+    }
+
+    /**
+     * Obtiene los puntos de una letra.
+     * @param code El código de la letra en el alfabeto.
+     * @return Los puntos.
+     */
+    public int letterPoints(int code) {
+        return letterPoints[code];
+    }
+
+    /**
+     * Obtiene el bono por longitud.
+     * @param length La longitud de la palabra.
+     * @return El bono.
+     */
+    public int lengthBonus(int length) {
+        return BONO_LONGITUD[Math.min(length, BONO_LONGITUD.length - 1)];
+    }
+
+    /**
+     * Calcula el puntaje de una palabra.
+     * @param word La palabra.
+     * @return El puntaje, o -1 si tiene letras fuera del alfabeto.
+     */
+    public int score(String word) {
+        int total = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int code = alfabeto.code(word.charAt(i));
+            if (code < 0) {
+                return -1;
+            }
+            total += letterPoints[code];
+        }
+        return total + lengthBonus(word.length());
+    }
+
+    /**
+     * Obtiene el alfabeto de las palabras.
+     * @return El alfabeto.
+     */
+    public Alfabeto getAlfabeto() {
+        return alfabeto;
+    }
+}
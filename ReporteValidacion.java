@@ -0,0 +1,150 @@
+package com.mycompany.proyecto1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Reúne todos los problemas encontrados al cargar un archivo para mostrarlos en un solo resumen,
+ * en lugar de un diálogo por cada palabra inválida.
+ * Puede usarse desde varios hilos a la vez: de cada tipo de problema se cuentan todos
+ * y se guardan solo unos pocos ejemplos.
+ */
+public class ReporteValidacion {
+
+    /** Tipos de problema en las palabras del diccionario. */
+    public enum Problema {
+        MUY_CORTA("Palabras demasiado cortas"),
+        CARACTER_INVALIDO("Palabras con caracteres fuera del alfabeto"),
+        DUPLICADA("Palabras repetidas");
+
+        private final String descripcion;
+
+        Problema(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+    }
+
+    /** Máximo de ejemplos guardados por tipo de problema. */
+    public static final int MAX_EJEMPLOS = 10;
+
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(Problema.values().length);
+    private final List<List<String>> examples = new ArrayList<>();
+    private final List<String> errors = Collections.synchronizedList(new ArrayList<>());   // Impiden usar el archivo
+    private final List<String> warnings = Collections.synchronizedList(new ArrayList<>()); // No impiden usarlo
+
+    /**
+     * Constructor para un reporte vacío.
+     */
+    public ReporteValidacion() {
+        for (int i = 0; i < Problema.values().length; i++) {
+            examples.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+    }
+
+    /**
+     * Registra una palabra del diccionario que fue ignorada.
+     * @param problema El tipo de problema.
+     * @param lineNumber La línea del archivo (empezando en 1).
+     * @param text El texto de la línea.
+     */
+    public void addProblem(Problema problema, int lineNumber, String text) {
+        if (counts.incrementAndGet(problema.ordinal()) <= MAX_EJEMPLOS) {
+            examples.get(problema.ordinal()).add("línea " + lineNumber + ": '" + text + "'");
+        }
+    }
+
+    /**
+     * Registra un error que impide usar el archivo.
+     * @param message El mensaje.
+     */
+    public void addError(String message) {
+        errors.add(message);
+    }
+
+    /**
+     * Registra una advertencia que no impide usar el archivo.
+     * @param message El mensaje.
+     */
+    public void addWarning(String message) {
+        warnings.add(message);
+    }
+
+    /**
+     * Obtiene cuántas palabras se ignoraron por un tipo de problema.
+     * @param problema El tipo de problema.
+     * @return El número de palabras.
+     */
+    public int getCount(Problema problema) {
+        return counts.get(problema.ordinal());
+    }
+
+    /**
+     * Obtiene el total de palabras ignoradas.
+     * @return La suma de todos los tipos de problema.
+     */
+    public int getTotalProblems() {
+        int total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Verifica si hubo errores que impiden usar el archivo.
+     * @return true si hay al menos un error.
+     */
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    /**
+     * Verifica si el reporte está vacío.
+     * @return true si no hubo errores, advertencias ni palabras ignoradas.
+     */
+    public boolean isEmpty() {
+        return errors.isEmpty() && warnings.isEmpty() && getTotalProblems() == 0;
+    }
+
+    /**
+     * Construye el texto del resumen.
+     * @return Errores, advertencias y, por cada tipo de problema, su total y algunos ejemplos.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        synchronized (errors) {
+            for (String error : errors) {
+                sb.append("Error: ").append(error).append("\n");
+            }
+        }
+        synchronized (warnings) {
+            for (String warning : warnings) {
+                sb.append("Advertencia: ").append(warning).append("\n");
+            }
+        }
+        for (Problema problema : Problema.values()) {
+            int count = getCount(problema);
+            if (count == 0) {
+                continue;
+            }
+            sb.append(problema.getDescripcion()).append(" (ignoradas): ").append(count).append("\n");
+            List<String> list = examples.get(problema.ordinal());
+            synchronized (list) {
+                for (String example : list) {
+                    sb.append("    ").append(example).append("\n");
+                }
+            }
+            if (count > MAX_EJEMPLOS) {
+                sb.append("    ... y ").append(count - MAX_EJEMPLOS).append(" más\n");
+            }
+        }
+        return sb.toString();
+    }
+}
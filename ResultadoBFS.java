@@ -1,30 +1,43 @@
 package com.mycompany.proyecto1;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Clase para encapsular los resultados de una búsqueda BFS,
- * incluyendo si se encontró un camino, el camino encontrado y el mapa de padres para la visualización.
+ * incluyendo si se encontró un camino, el camino encontrado y el árbol de padres para la visualización.
+ * Se guarda en forma compacta: el camino como índices de celda (fila * columnas + columna)
+ * y el árbol como un arreglo de padres indexado por celda. Las vistas con objetos Node
+ * se construyen solo cuando se piden.
  */
 public class ResultadoBFS {
-    private final boolean pathFound; // <--- Esta variable es CRÍTICA y debe estar aquí.
-    private final List<Node> foundPath;
-    private final Map<Node, Node> parentMap; // Mapa de padres para reconstruir el árbol de búsqueda para visualización
-    private final Node startNode; // Nodo desde el que se inició la búsqueda
+    /** Valor de getParents() para las celdas sin padre (no exploradas o el nodo inicial). */
+    public static final int SIN_PADRE = -1;
+
+    private static final int[] VACIO = new int[0];
+
+    private final EstadoBusqueda estado; // Estado final, incluido si se agotó el límite de la búsqueda
+    private final int[] path;            // Celdas del camino encontrado; vacío si no se encontró
+    private final int[] parents;         // Padre de cada celda en el árbol BFS, o SIN_PADRE
+    private final int startCell;         // Celda desde la que se inició la búsqueda; -1 si no hubo búsqueda
+    private final Grafo grafo;           // Grafo del que provienen las celdas, para las vistas con Node
 
     /**
      * Constructor para un resultado de BFS.
-     * @param pathFound true si se encontró el camino.
-     * @param foundPath La lista de nodos que forman el camino encontrado.
-     * @param parentMap El mapa de padres para la visualización del recorrido.
-     * @param startNode El nodo inicial de la búsqueda.
+     * @param estado El estado final de la búsqueda.
+     * @param path Las celdas del camino encontrado (vacío si no se encontró).
+     * @param parents El arreglo de padres indexado por celda, o null si no hay árbol de búsqueda.
+     * @param startCell La celda inicial de la búsqueda, o -1 si no hubo búsqueda.
+     * @param grafo El grafo sobre el que se hizo la búsqueda.
      */
-    public ResultadoBFS(boolean pathFound, List<Node> foundPath, Map<Node, Node> parentMap, Node startNode) {
-        this.pathFound = pathFound;
-        this.foundPath = foundPath;
-        this.parentMap = parentMap;
-        this.startNode = startNode;
+    public ResultadoBFS(EstadoBusqueda estado, int[] path, int[] parents, int startCell, Grafo grafo) {
+        this.estado = estado;
+        this.path = path != null ? path : VACIO;
+        this.parents = parents != null ? parents : VACIO;
+        this.startCell = startCell;
+        this.grafo = grafo;
     }
 
     /**
@@ -32,7 +45,31 @@ public class ResultadoBFS {
      * @return true si el camino fue encontrado, false en caso contrario.
      */
     public boolean isPathFound() {
-        return pathFound;
+        return estado == EstadoBusqueda.FOUND;
+    }
+
+    /**
+     * Obtiene las celdas del camino encontrado.
+     * @return Los índices de celda del camino. Vacío si no se encontró el camino.
+     */
+    public int[] getPathCells() {
+        return path;
+    }
+
+    /**
+     * Obtiene el árbol de búsqueda como arreglo de padres indexado por celda.
+     * @return El padre de cada celda, o SIN_PADRE. Vacío si no hubo árbol de búsqueda.
+     */
+    public int[] getParents() {
+        return parents;
+    }
+
+    /**
+     * Obtiene la celda desde la que se inició la búsqueda.
+     * @return El índice de la celda inicial, o -1 si no hubo búsqueda.
+     */
+    public int getStartCell() {
+        return startCell;
     }
 
     /**
@@ -40,22 +77,48 @@ public class ResultadoBFS {
      * @return Una lista de nodos que forman el camino. Vacía si no se encontró el camino.
      */
     public List<Node> getFoundPath() {
-        return foundPath;
+        if (path.length == 0) {
+            return Collections.emptyList();
+        }
+        return grafo.decodePath(path);
     }
 
     /**
      * Obtiene el mapa de padres, útil para reconstruir el árbol de búsqueda para visualización.
+     * Se construye a partir del arreglo de padres en cada llamada; preferir getParents().
      * @return Un mapa donde la clave es un nodo y el valor es su nodo padre en el recorrido BFS.
      */
     public Map<Node, Node> getParentMap() {
+        Map<Node, Node> parentMap = new HashMap<>();
+        if (parents.length == 0) {
+            return parentMap;
+        }
+        int cols = grafo.getCols();
+        for (int cell = 0; cell < parents.length; cell++) {
+            if (parents[cell] != SIN_PADRE) {
+                int parent = parents[cell];
+                parentMap.put(grafo.getNode(cell / cols, cell % cols), grafo.getNode(parent / cols, parent % cols));
+            }
+        }
         return parentMap;
     }
 
     /**
      * Obtiene el nodo desde el que se inició la búsqueda.
-     * @return El nodo inicial.
+     * @return El nodo inicial, o null si no hubo búsqueda.
      */
     public Node getStartNode() {
-        return startNode;
+        if (startCell < 0) {
+            return null;
+        }
+        return grafo.getNode(startCell / grafo.getCols(), startCell % grafo.getCols());
+    }
+
+    /**
+     * Obtiene el estado final de la búsqueda.
+     * @return FOUND, NOT_FOUND, TIMED_OUT o BUDGET_EXCEEDED.
+     */
+    public EstadoBusqueda getEstado() {
+        return estado;
     }
 }
\ No newline at end of file
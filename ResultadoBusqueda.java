@@ -0,0 +1,46 @@
+package com.mycompany.proyecto1;
+
+import java.util.List;
+
+/**
+ * Clase para encapsular el resultado de una búsqueda con límites,
+ * incluyendo su estado (encontrada, no encontrada o agotada) y el camino encontrado.
+ */
+public class ResultadoBusqueda {
+    private final EstadoBusqueda estado;
+    private final List<Node> path;
+
+    /**
+     * Constructor para un resultado de búsqueda.
+     * @param estado El estado final de la búsqueda.
+     * @param path El camino encontrado; vacío si no se encontró.
+     */
+    public ResultadoBusqueda(EstadoBusqueda estado, List<Node> path) {
+        this.estado = estado;
+        this.path = path;
+    }
+
+    /**
+     * Obtiene el estado final de la búsqueda.
+     * @return FOUND, NOT_FOUND, TIMED_OUT o BUDGET_EXCEEDED.
+     */
+    public EstadoBusqueda getEstado() {
+        return estado;
+    }
+
+    /**
+     * Indica si se encontró la palabra.
+     * @return true si el estado es FOUND.
+     */
+    public boolean isFound() {
+        return estado == EstadoBusqueda.FOUND;
+    }
+
+    /**
+     * Obtiene el camino encontrado.
+     * @return Una lista de nodos que forman el camino. Vacía si no se encontró.
+     */
+    public List<Node> getPath() {
+        return path;
+    }
+}
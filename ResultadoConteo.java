@@ -0,0 +1,52 @@
+package com.mycompany.proyecto1;
+
+/**
+ * Clase para encapsular el resultado de contar las ocurrencias de una palabra,
+ * indicando si el conteo es exacto o una cota superior y si se saturó el rango de long.
+ */
+public class ResultadoConteo {
+    private final long count;
+    private final boolean exact;     // true si el conteo es exacto, false si es una cota superior
+    private final boolean saturated; // true si el conteo real supera Long.MAX_VALUE
+
+    /**
+     * Constructor para un resultado de conteo.
+     * @param count El número de caminos (o la cota superior).
+     * @param exact true si el conteo es exacto.
+     * @param saturated true si el conteo se saturó en Long.MAX_VALUE.
+     */
+    public ResultadoConteo(long count, boolean exact, boolean saturated) {
+        this.count = count;
+        this.exact = exact;
+        this.saturated = saturated;
+    }
+
+    /**
+     * Obtiene el número de caminos que forman la palabra.
+     * @return El conteo, o Long.MAX_VALUE si se saturó.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Indica si el conteo es exacto.
+     * @return true si es exacto, false si es una cota superior.
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * Indica si el conteo superó el rango de long.
+     * @return true si el conteo se saturó en Long.MAX_VALUE.
+     */
+    public boolean isSaturated() {
+        return saturated;
+    }
+
+    @Override
+    public String toString() {
+        return (saturated ? ">= " : exact ? "" : "<= ") + count;
+    }
+}
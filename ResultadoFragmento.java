@@ -0,0 +1,153 @@
+package com.mycompany.proyecto1;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Resultado de un fragmento de trabajo (o de todo el diccionario, una vez reunidos):
+ * el estado y el camino encontrado de cada palabra, en el orden de las palabras.
+ */
+public class ResultadoFragmento {
+
+    private static final int[] VACIO = new int[0];
+
+    private final int id;
+    private final EstadoBusqueda[] estados;  // Estado de cada palabra; null si aún no hay resultado
+    private final int[][] paths;             // Celdas del camino de cada palabra; vacío si no se encontró
+
+    /**
+     * Constructor para un resultado vacío.
+     * @param id El identificador del fragmento.
+     * @param size El número de palabras.
+     */
+    public ResultadoFragmento(int id, int size) {
+        this.id = id;
+        this.estados = new EstadoBusqueda[size];
+        this.paths = new int[size][];
+    }
+
+    /**
+     * Guarda el resultado de una palabra.
+     * @param index La posición de la palabra.
+     * @param estado El estado de la búsqueda.
+     * @param path Las celdas del camino; vacío si no se encontró.
+     */
+    public void set(int index, EstadoBusqueda estado, int[] path) {
+        estados[index] = estado;
+        paths[index] = path;
+    }
+
+    /**
+     * Combina el resultado de otra búsqueda de la misma palabra sobre otras celdas iniciales.
+     * Gana FOUND (con el camino que empieza en la celda menor, para que el resultado no dependa
+     * del orden de llegada); si nadie la encontró, un límite agotado gana sobre NOT_FOUND,
+     * porque la búsqueda quedó incompleta.
+     * @param index La posición de la palabra.
+     * @param estado El estado de la otra búsqueda.
+     * @param path El camino de la otra búsqueda.
+     */
+    public void merge(int index, EstadoBusqueda estado, int[] path) {
+        EstadoBusqueda actual = estados[index];
+        if (actual == null) {
+            set(index, estado, path);
+        } else if (estado == EstadoBusqueda.FOUND) {
+            if (actual != EstadoBusqueda.FOUND || path[0] < paths[index][0]) {
+                set(index, estado, path);
+            }
+        } else if (actual == EstadoBusqueda.NOT_FOUND && estado != EstadoBusqueda.NOT_FOUND) {
+            set(index, estado, VACIO);
+        }
+    }
+
+    /**
+     * Escribe el resultado en un flujo.
+     * @param out El flujo de salida.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(id);
+        out.writeInt(estados.length);
+        for (int i = 0; i < estados.length; i++) {
+            out.writeByte(estados[i].ordinal());
+            out.writeInt(paths[i].length);
+            for (int cell : paths[i]) {
+                out.writeInt(cell);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Lee un resultado de un flujo y verifica que sea coherente con el tablero: estados válidos,
+     * caminos dentro del tablero, un camino no vacío en cada FOUND y ninguno en los demás estados.
+     * @param in El flujo de entrada.
+     * @param cells El número de celdas del tablero.
+     * @return El resultado leído.
+     * @throws IOException Si ocurre un error de lectura, el flujo terminó o el contenido no es válido.
+     */
+    public static ResultadoFragmento readFrom(DataInputStream in, int cells) throws IOException {
+        int id = in.readInt();
+        int size = in.readInt();
+        if (size < 0) {
+            throw new IOException("Número de palabras inválido: " + size);
+        }
+        ResultadoFragmento resultado = new ResultadoFragmento(id, size);
+        EstadoBusqueda[] valores = EstadoBusqueda.values();
+        for (int i = 0; i < size; i++) {
+            int ordinal = in.readByte();
+            if (ordinal < 0 || ordinal >= valores.length) {
+                throw new IOException("Estado inválido en la palabra " + i + ": " + ordinal);
+            }
+            EstadoBusqueda estado = valores[ordinal];
+            int length = in.readInt();
+            // Un camino no repite celdas, así que no puede ser más largo que el tablero
+            if (length < 0 || length > cells || (estado == EstadoBusqueda.FOUND) != (length > 0)) {
+                throw new IOException("Camino inválido en la palabra " + i + ": " + estado + " con " + length + " celdas");
+            }
+            int[] path = new int[length];
+            for (int j = 0; j < path.length; j++) {
+                path[j] = in.readInt();
+                if (path[j] < 0 || path[j] >= cells) {
+                    throw new IOException("Celda fuera del tablero en la palabra " + i + ": " + path[j]);
+                }
+            }
+            resultado.set(i, estado, path.length == 0 ? VACIO : path);
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene el identificador del fragmento.
+     * @return El identificador.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Obtiene el número de palabras.
+     * @return El número de palabras.
+     */
+    public int size() {
+        return estados.length;
+    }
+
+    /**
+     * Obtiene el estado de una palabra.
+     * @param index La posición de la palabra.
+     * @return El estado, o null si aún no hay resultado.
+     */
+    public EstadoBusqueda getEstado(int index) {
+        return estados[index];
+    }
+
+    /**
+     * Obtiene el camino encontrado de una palabra.
+     * @param index La posición de la palabra.
+     * @return Las celdas del camino; vacío si no se encontró.
+     */
+    public int[] getPath(int index) {
+        return paths[index];
+    }
+}
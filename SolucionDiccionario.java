@@ -0,0 +1,245 @@
+package com.mycompany.proyecto1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Resultado de resolver todo un diccionario sobre un tablero, con soporte para editar
+ * celdas sin volver a resolver todo. Mantiene dos índices inversos:
+ * de cada celda a las palabras cuyo camino encontrado pasa por ella, y de cada letra
+ * a las palabras que la contienen. Al cambiar una celda solo se vuelven a buscar las
+ * palabras encontradas que pasaban por ella y las no encontradas que contienen la nueva letra;
+ * ninguna otra palabra puede cambiar de resultado.
+ */
+public class SolucionDiccionario {
+
+    private static final int[] VACIO = new int[0];
+
+    private Grafo grafo;                               // Versión actual del tablero
+    private final List<String> words;                  // Palabras del diccionario (el índice es su identificador)
+    private final EstadoBusqueda[] estados;            // Resultado de cada palabra
+    private final int[][] paths;                       // Camino encontrado de cada palabra; vacío si no se encontró
+    private final IndiceCeldas wordsByCell;            // Celda -> palabras cuyo camino pasa por ella
+    private final int[][] wordsByCode;                 // Código de letra -> palabras que contienen esa letra
+    private final int[] revisada;                      // Marca de la última edición en que se volvió a buscar cada palabra
+    private int marca;                                 // Marca de la edición actual
+    private final Supplier<LimiteBusqueda> limites;    // Crea el límite de cada búsqueda
+    private final boolean useBfs;                      // true para buscar con BFS, false para DFS
+
+    /**
+     * Constructor que resuelve todo el diccionario sobre el tablero.
+     * @param grafo El tablero.
+     * @param words Las palabras del diccionario.
+     * @param useBfs true para buscar cada palabra con BFS, false para DFS.
+     * @param limites Fábrica del límite de tiempo/expansiones para cada búsqueda de palabra.
+     */
+    public SolucionDiccionario(Grafo grafo, List<String> words, boolean useBfs, Supplier<LimiteBusqueda> limites) {
+        this.grafo = grafo;
+        this.words = new ArrayList<>(words);
+        this.estados = new EstadoBusqueda[this.words.size()];
+        this.paths = new int[this.words.size()][];
+        this.wordsByCell = new IndiceCeldas(grafo.getRows() * grafo.getCols());
+        this.wordsByCode = buildWordsByCode(grafo.getAlfabeto(), this.words);
+        this.revisada = new int[this.words.size()];
+        this.limites = limites;
+        this.useBfs = useBfs;
+
+        for (int id = 0; id < this.words.size(); id++) {
+            solve(id);
+        }
+    }
+
+    /**
+     * Constructor que usa resultados ya calculados (por ejemplo, leídos de CacheResultados)
+     * en lugar de buscar: solo se construyen los índices.
+     * @param grafo El tablero.
+     * @param words Las palabras del diccionario.
+     * @param useBfs true para buscar con BFS las palabras afectadas por futuras ediciones, false para DFS.
+     * @param limites Fábrica del límite de tiempo/expansiones para futuras búsquedas.
+     * @param resultados El estado y camino de cada palabra, en el mismo orden que words.
+     * @throws IllegalArgumentException Si el número de resultados no coincide con el de palabras.
+     */
+    public SolucionDiccionario(Grafo grafo, List<String> words, boolean useBfs, Supplier<LimiteBusqueda> limites,
+                               ResultadoFragmento resultados) {
+        if (resultados.size() != words.size()) {
+            throw new IllegalArgumentException("Hay " + resultados.size() + " resultados para " + words.size() + " palabras.");
+        }
+        this.grafo = grafo;
+        this.words = new ArrayList<>(words);
+        this.estados = new EstadoBusqueda[this.words.size()];
+        this.paths = new int[this.words.size()][];
+        this.wordsByCell = new IndiceCeldas(grafo.getRows() * grafo.getCols());
+        this.wordsByCode = buildWordsByCode(grafo.getAlfabeto(), this.words);
+        this.revisada = new int[this.words.size()];
+        this.limites = limites;
+        this.useBfs = useBfs;
+
+        for (int id = 0; id < this.words.size(); id++) {
+            estados[id] = resultados.getEstado(id);
+            paths[id] = resultados.getPath(id).length == 0 ? VACIO : resultados.getPath(id);
+            wordsByCell.addPath(id, paths[id]);
+        }
+    }
+
+    /**
+     * Constructor que resuelve todo el diccionario sin límites de búsqueda.
+     * @param grafo El tablero.
+     * @param words Las palabras del diccionario.
+     */
+    public SolucionDiccionario(Grafo grafo, List<String> words) {
+        this(grafo, words, false, LimiteBusqueda::sinLimite);
+    }
+
+    // Construye el índice letra -> palabras que la contienen (cada palabra una vez por letra)
+    private static int[][] buildWordsByCode(Alfabeto alfabeto, List<String> words) {
+        int[][] byCode = new int[alfabeto.size()][];
+        int[] sizes = new int[alfabeto.size()];
+        boolean[] seen = new boolean[alfabeto.size()];
+        for (int id = 0; id < words.size(); id++) {
+            byte[] codes = alfabeto.encode(words.get(id));
+            if (codes == null) {
+                continue; // La palabra tiene letras fuera del alfabeto: nunca se encontrará
+            }
+            Arrays.fill(seen, false);
+            for (byte code : codes) {
+                if (seen[code]) {
+                    continue;
+                }
+                seen[code] = true;
+                if (byCode[code] == null) {
+                    byCode[code] = new int[4];
+                } else if (sizes[code] == byCode[code].length) {
+                    byCode[code] = Arrays.copyOf(byCode[code], sizes[code] * 2);
+                }
+                byCode[code][sizes[code]++] = id;
+            }
+        }
+        for (int code = 0; code < byCode.length; code++) {
+            byCode[code] = byCode[code] == null ? VACIO : Arrays.copyOf(byCode[code], sizes[code]);
+        }
+        return byCode;
+    }
+
+    // Busca una palabra en la versión actual del tablero y actualiza el índice de celdas
+    private void solve(int id) {
+        ResultadoBusqueda resultado = useBfs
+                ? grafo.searchWordBFS(words.get(id), limites.get())
+                : grafo.searchWordDFS(words.get(id), limites.get());
+        estados[id] = resultado.getEstado();
+        paths[id] = resultado.isFound() ? grafo.encodePath(resultado.getPath()) : VACIO;
+        wordsByCell.addPath(id, paths[id]);
+    }
+
+    /**
+     * Cambia la letra de una celda y vuelve a comprobar solo las palabras afectadas.
+     * @param row Fila de la celda.
+     * @param col Columna de la celda.
+     * @param letter La nueva letra.
+     * @return Los cambios de resultado de las palabras afectadas (vacío si ninguna cambió).
+     * @throws IllegalArgumentException Si la posición no existe o la letra no pertenece al alfabeto.
+     */
+    public List<CambioResultado> updateCell(int row, int col, char letter) {
+        int cell = row * grafo.getCols() + col;
+        Grafo updated = grafo.withCell(row, col, letter);
+        if (grafo.getCode(cell) == updated.getCode(cell)) {
+            return new ArrayList<>(); // La celda ya tenía esa letra
+        }
+        grafo = updated;
+
+        // Palabras encontradas cuyo camino usaba la celda (pueden perderse o cambiar de camino)
+        // y palabras no encontradas que contienen la nueva letra (pueden aparecer)
+        int[] throughCell = wordsByCell.get(cell);
+        int[] withLetter = wordsByCode[grafo.getCode(cell)];
+
+        // Una palabra que se pierde en el primer grupo y contiene la nueva letra está en los dos;
+        // las marcas evitan buscarla (y reportar su cambio) dos veces
+        nextMarca();
+        List<CambioResultado> cambios = new ArrayList<>();
+        for (int id : throughCell) {
+            revisada[id] = marca;
+            recheck(id, cambios);
+        }
+        for (int id : withLetter) {
+            if (estados[id] != EstadoBusqueda.FOUND && revisada[id] != marca) {
+                revisada[id] = marca;
+                recheck(id, cambios);
+            }
+        }
+        return cambios;
+    }
+
+    // Cambia a una marca nueva, lo que equivale a desmarcar todas las palabras revisadas
+    private void nextMarca() {
+        marca++;
+        if (marca == 0) { // Desbordamiento de la marca: limpiar y empezar de nuevo
+            Arrays.fill(revisada, 0);
+            marca = 1;
+        }
+    }
+
+    // Vuelve a buscar una palabra y registra el cambio si su resultado es distinto
+    private void recheck(int id, List<CambioResultado> cambios) {
+        EstadoBusqueda estadoAnterior = estados[id];
+        int[] pathAnterior = paths[id];
+        wordsByCell.removePath(id, pathAnterior);
+        solve(id);
+        if (estadoAnterior != estados[id] || !Arrays.equals(pathAnterior, paths[id])) {
+            cambios.add(new CambioResultado(words.get(id), estadoAnterior, estados[id], pathAnterior, paths[id]));
+        }
+    }
+
+    /**
+     * Obtiene la versión actual del tablero.
+     * @return El grafo con todos los cambios aplicados.
+     */
+    public Grafo getGrafo() {
+        return grafo;
+    }
+
+    /**
+     * Obtiene el número de palabras del diccionario.
+     * @return El número de palabras.
+     */
+    public int size() {
+        return words.size();
+    }
+
+    /**
+     * Obtiene una palabra por su identificador.
+     * @param id El identificador (posición en el diccionario).
+     * @return La palabra.
+     */
+    public String getWord(int id) {
+        return words.get(id);
+    }
+
+    /**
+     * Obtiene el resultado de una palabra.
+     * @param id El identificador de la palabra.
+     * @return FOUND, NOT_FOUND, TIMED_OUT o BUDGET_EXCEEDED.
+     */
+    public EstadoBusqueda getEstado(int id) {
+        return estados[id];
+    }
+
+    /**
+     * Obtiene el camino encontrado de una palabra.
+     * @param id El identificador de la palabra.
+     * @return Las celdas del camino; vacío si no se encontró.
+     */
+    public int[] getPath(int id) {
+        return paths[id];
+    }
+
+    /**
+     * Obtiene las palabras encontradas cuyo camino pasa por una celda.
+     * El costo es proporcional al número de esas palabras, no al tamaño del diccionario.
+     * @param cell El índice de la celda (fila * columnas + columna).
+     * @return Los identificadores de esas palabras.
+     */
+    public int[] getWordsThroughCell(int cell) {
+        return wordsByCell.get(cell);
+    }
+}
@@ -0,0 +1,360 @@
+package com.mycompany.proyecto1;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Tablero guardado fuera del heap, en un archivo mapeado en memoria, para tableros más
+ * grandes que la memoria de la JVM.
+ *
+ * El archivo tiene una cabecera fija y luego las celdas agrupadas en teselas cuadradas de
+ * tamaño fijo, una tesela tras otra (fila de teselas por fila de teselas); dentro de cada
+ * tesela las celdas van por filas, con un byte por celda que guarda su código en el alfabeto.
+ * Las celdas de las teselas del borde que quedan fuera del tablero valen -1. Así, leer una
+ * tesela con su vecindad toca solo unas pocas regiones contiguas del archivo, y el sistema
+ * operativo carga y descarga las páginas según se necesiten.
+ */
+public class TableroMapeado implements Closeable {
+
+    private static final int MAGIC = 0x534F5054; // "SOPT"
+    private static final int VERSION = 1;
+    private static final int CABECERA = 4096;    // Bytes reservados para la cabecera
+    private static final byte FUERA = -1;        // Celda fuera del tablero
+
+    private final FileChannel channel;
+    private final int rows;
+    private final int cols;
+    private final int tileSize;
+    private final int tileRows;               // Número de filas de teselas
+    private final int tileCols;               // Número de columnas de teselas
+    private final Alfabeto alfabeto;
+    private final MappedByteBuffer[] segments; // Cada segmento abarca un número entero de teselas (menos de 2 GB)
+    private final int tilesPerSegment;
+
+    private TableroMapeado(FileChannel channel, int rows, int cols, int tileSize, Alfabeto alfabeto) throws IOException {
+        this.channel = channel;
+        this.rows = rows;
+        this.cols = cols;
+        this.tileSize = tileSize;
+        this.tileRows = (rows + tileSize - 1) / tileSize;
+        this.tileCols = (cols + tileSize - 1) / tileSize;
+        this.alfabeto = alfabeto;
+
+        long tileBytes = (long) tileSize * tileSize;
+        long tiles = (long) tileRows * tileCols;
+        this.tilesPerSegment = (int) Math.max(1, Integer.MAX_VALUE / tileBytes);
+        int count = (int) ((tiles + tilesPerSegment - 1) / tilesPerSegment);
+        this.segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long first = (long) i * tilesPerSegment;
+            long size = Math.min(tilesPerSegment, tiles - first) * tileBytes;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, CABECERA + first * tileBytes, size);
+        }
+    }
+
+    /**
+     * Abre un tablero mapeado ya creado.
+     * @param file El archivo del tablero.
+     * @return El tablero, listo para leer teselas.
+     * @throws IOException Si el archivo no existe, no se puede leer o no tiene el formato esperado.
+     */
+    public static TableroMapeado abrir(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(CABECERA);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // Leer hasta completar la cabecera o llegar al final del archivo
+            }
+            header.flip();
+            if (header.remaining() < 24 || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("El archivo no es un tablero mapeado válido: " + file);
+            }
+            int rows = header.getInt();
+            int cols = header.getInt();
+            int tileSize = header.getInt();
+            int symbols = header.getInt();
+            if (rows <= 0 || cols <= 0 || tileSize <= 0 || symbols <= 0 || symbols > Alfabeto.MAX_SIMBOLOS) {
+                throw new IOException("Cabecera de tablero mapeado inválida: " + file);
+            }
+            char[] alfabeto = new char[symbols];
+            for (int i = 0; i < symbols; i++) {
+                alfabeto[i] = header.getChar();
+            }
+            return new TableroMapeado(channel, rows, cols, tileSize, new Alfabeto(new String(alfabeto)));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Crea un tablero mapeado calculando la letra de cada celda con una función.
+     * Se escribe tesela por tesela, así que la memoria usada es la de una tesela.
+     * @param file El archivo a crear (se reemplaza si existe).
+     * @param rows Número de filas.
+     * @param cols Número de columnas.
+     * @param tileSize Lado de las teselas, en celdas.
+     * @param alfabeto El alfabeto de las letras.
+     * @param letra Función (fila, columna) -> letra de la celda.
+     * @throws IOException Si ocurre un error de escritura.
+     * @throws IllegalArgumentException Si las dimensiones no son válidas o una letra no pertenece al alfabeto.
+     */
+    public static void crear(Path file, int rows, int cols, int tileSize, Alfabeto alfabeto, IntBinaryOperator letra)
+            throws IOException {
+        checkDimensions(rows, cols, tileSize);
+        int tileRows = (rows + tileSize - 1) / tileSize;
+        int tileCols = (cols + tileSize - 1) / tileSize;
+        byte[] tile = new byte[tileSize * tileSize];
+        try (FileChannel out = openForWriting(file)) {
+            writeHeader(out, rows, cols, tileSize, alfabeto);
+            for (int tr = 0; tr < tileRows; tr++) {
+                for (int tc = 0; tc < tileCols; tc++) {
+                    for (int i = 0; i < tile.length; i++) {
+                        int r = tr * tileSize + i / tileSize;
+                        int c = tc * tileSize + i % tileSize;
+                        tile[i] = r < rows && c < cols ? encode(alfabeto, (char) letra.applyAsInt(r, c)) : FUERA;
+                    }
+                    writeTile(out, tileCols, tileSize, tr, tc, tile);
+                }
+            }
+        }
+    }
+
+    /**
+     * Convierte la sección {@code <tab>} de un archivo de sopa de letras en un tablero mapeado.
+     * Las filas se leen en orden y se escriben por franjas de teselas, así que la memoria usada
+     * es la de una franja (lado de tesela * columnas), no la del tablero completo.
+     * @param text El archivo con la sección {@code <tab>}.
+     * @param file El archivo a crear (se reemplaza si existe).
+     * @param tileSize Lado de las teselas, en celdas.
+     * @param alfabeto El alfabeto de las letras.
+     * @throws IOException Si ocurre un error de lectura o escritura, o el tablero no es válido.
+     */
+    public static void importar(File text, Path file, int tileSize, Alfabeto alfabeto) throws IOException {
+        if (tileSize <= 0 || (long) tileSize * tileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamaño de tesela inválido: " + tileSize);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(text), StandardCharsets.UTF_8), 1 << 16);
+             FileChannel out = openForWriting(file)) {
+            int cols = -1;
+            int rows = 0;
+            byte[][] band = null; // Filas de la franja de teselas actual
+            boolean inBoardSection = false;
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmedLine = line.trim();
+                if (trimmedLine.equalsIgnoreCase("<tab>")) {
+                    inBoardSection = true;
+                } else if (trimmedLine.equalsIgnoreCase("</tab>")) {
+                    inBoardSection = false;
+                } else if (inBoardSection && !trimmedLine.isEmpty()) {
+                    String row = trimmedLine.replace(" ", "");
+                    if (cols < 0) {
+                        cols = row.length();
+                        band = new byte[tileSize][cols];
+                    } else if (row.length() != cols) {
+                        throw new IOException("Las líneas del tablero no tienen la misma longitud, línea " + lineNumber + ".");
+                    }
+                    byte[] codes = band[rows % tileSize];
+                    for (int c = 0; c < cols; c++) {
+                        int code = alfabeto.code(row.charAt(c));
+                        if (code < 0) {
+                            throw new IOException("El tablero contiene caracteres fuera del alfabeto (línea " + lineNumber + ").");
+                        }
+                        codes[c] = (byte) code;
+                    }
+                    rows++;
+                    if (rows % tileSize == 0) {
+                        writeBand(out, band, tileSize, rows / tileSize - 1, tileSize);
+                    }
+                }
+            }
+            if (rows == 0) {
+                throw new IOException("No se encontró la sección de tablero en el archivo.");
+            }
+            if (rows % tileSize != 0) {
+                writeBand(out, band, tileSize, rows / tileSize, rows % tileSize);
+            }
+            writeHeader(out, rows, cols, tileSize, alfabeto); // Las filas solo se conocen al final
+        }
+    }
+
+    private static void checkDimensions(int rows, int cols, int tileSize) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Las dimensiones del tablero deben ser positivas.");
+        }
+        if (tileSize <= 0 || (long) tileSize * tileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamaño de tesela inválido: " + tileSize);
+        }
+    }
+
+    private static FileChannel openForWriting(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static byte encode(Alfabeto alfabeto, char letter) {
+        int code = alfabeto.code(letter);
+        if (code < 0) {
+            throw new IllegalArgumentException("La letra '" + letter + "' no pertenece al alfabeto.");
+        }
+        return (byte) code;
+    }
+
+    private static void writeHeader(FileChannel out, int rows, int cols, int tileSize, Alfabeto alfabeto) throws IOException {
+        checkDimensions(rows, cols, tileSize);
+        ByteBuffer header = ByteBuffer.allocate(CABECERA);
+        header.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(cols).putInt(tileSize).putInt(alfabeto.size());
+        for (int code = 0; code < alfabeto.size(); code++) {
+            header.putChar(alfabeto.symbol(code));
+        }
+        header.clear();
+        writeFully(out, header, 0);
+    }
+
+    // Escribe las teselas de una franja; las filas que faltan (última franja) quedan fuera del tablero
+    private static void writeBand(FileChannel out, byte[][] band, int tileSize, int tr, int filledRows) throws IOException {
+        int cols = band[0].length;
+        int tileCols = (cols + tileSize - 1) / tileSize;
+        byte[] tile = new byte[tileSize * tileSize];
+        for (int tc = 0; tc < tileCols; tc++) {
+            Arrays.fill(tile, FUERA);
+            for (int r = 0; r < filledRows; r++) {
+                int from = tc * tileSize;
+                System.arraycopy(band[r], from, tile, r * tileSize, Math.min(tileSize, cols - from));
+            }
+            writeTile(out, tileCols, tileSize, tr, tc, tile);
+        }
+    }
+
+    private static void writeTile(FileChannel out, int tileCols, int tileSize, int tr, int tc, byte[] tile) throws IOException {
+        long offset = CABECERA + ((long) tr * tileCols + tc) * tileSize * tileSize;
+        writeFully(out, ByteBuffer.wrap(tile), offset);
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            offset += out.write(buffer, offset);
+        }
+    }
+
+    /**
+     * Copia una región rectangular del tablero en un arreglo, por filas.
+     * Las celdas fuera del tablero se copian como -1.
+     * @param row0 Primera fila de la región (puede ser negativa).
+     * @param col0 Primera columna de la región (puede ser negativa).
+     * @param height Número de filas de la región.
+     * @param width Número de columnas de la región.
+     * @param dst El destino, de al menos height * width posiciones.
+     */
+    public void read(int row0, int col0, int height, int width, byte[] dst) {
+        long tileBytes = (long) tileSize * tileSize;
+        for (int i = 0; i < height; i++) {
+            int r = row0 + i;
+            int base = i * width;
+            if (r < 0 || r >= rows) {
+                Arrays.fill(dst, base, base + width, FUERA);
+                continue;
+            }
+            int j = 0;
+            while (j < width) {
+                int c = col0 + j;
+                if (c < 0 || c >= cols) {
+                    dst[base + j++] = FUERA;
+                    continue;
+                }
+                // Copiar el tramo de la fila que cae dentro de la misma tesela
+                long tile = (long) (r / tileSize) * tileCols + c / tileSize;
+                ByteBuffer segment = segments[(int) (tile / tilesPerSegment)];
+                int offset = (int) ((tile % tilesPerSegment) * tileBytes) + (r % tileSize) * tileSize + c % tileSize;
+                int run = Math.min(width - j, Math.min(tileSize - c % tileSize, cols - c));
+                for (int k = 0; k < run; k++) {
+                    dst[base + j + k] = segment.get(offset + k);
+                }
+                j += run;
+            }
+        }
+    }
+
+    /**
+     * Obtiene la letra de una celda.
+     * @param row La fila.
+     * @param col La columna.
+     * @return La letra.
+     */
+    public char getValue(int row, int col) {
+        byte[] code = new byte[1];
+        read(row, col, 1, 1, code);
+        return alfabeto.symbol(code[0]);
+    }
+
+    /**
+     * Obtiene el número de filas.
+     * @return Las filas del tablero.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Obtiene el número de columnas.
+     * @return Las columnas del tablero.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Obtiene el lado de las teselas.
+     * @return El lado, en celdas.
+     */
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Obtiene el número de filas de teselas.
+     * @return Las filas de teselas.
+     */
+    public int getTileRows() {
+        return tileRows;
+    }
+
+    /**
+     * Obtiene el número de columnas de teselas.
+     * @return Las columnas de teselas.
+     */
+    public int getTileCols() {
+        return tileCols;
+    }
+
+    /**
+     * Obtiene el alfabeto de las letras del tablero.
+     * @return El alfabeto.
+     */
+    public Alfabeto getAlfabeto() {
+        return alfabeto;
+    }
+
+    /**
+     * Cierra el archivo. Las regiones mapeadas se liberan cuando ya no se usan.
+     * @throws IOException Si ocurre un error al cerrar.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
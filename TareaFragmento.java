@@ -0,0 +1,206 @@
+package com.mycompany.proyecto1;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Fragmento de trabajo que el Coordinador envía a un Trabajador: un tablero, un grupo
+ * de palabras del diccionario y el rango de celdas iniciales en el que se deben buscar.
+ * Se reparte el diccionario (cada fragmento con unas palabras y todas las celdas) o las
+ * celdas iniciales (cada fragmento con todas las palabras y un rango de celdas).
+ */
+public class TareaFragmento {
+
+    // Máximos que acepta readFrom, para que un cliente no pueda agotar la memoria del trabajador
+    static final int MAX_CELDAS = 1 << 20;
+    static final int MAX_PALABRAS = 1 << 20;
+    static final int MAX_LONGITUD_PALABRA = 1024;
+
+    private final int id;
+    private final char[][] board;
+    private final String alfabeto;        // Símbolos del alfabeto del tablero
+    private final boolean useBfs;         // true para BFS, false para DFS (solo con todas las celdas)
+    private final long timeoutMillis;     // Límite de tiempo por palabra
+    private final long maxExpansions;     // Límite de expansiones por palabra
+    private final int cellFrom;           // Primera celda inicial permitida
+    private final int cellTo;             // Fin exclusivo del rango de celdas iniciales
+    private final int firstWord;          // Posición en el diccionario de la primera palabra del fragmento
+    private final List<String> words;
+    private int intentos;                 // Veces que se ha enviado (solo en el coordinador)
+
+    /**
+     * Constructor para un fragmento.
+     * @param id El identificador del fragmento.
+     * @param board El tablero.
+     * @param alfabeto Los símbolos del alfabeto del tablero.
+     * @param useBfs true para buscar con BFS, false para DFS.
+     * @param timeoutMillis Límite de tiempo por palabra; 0 para no limitar.
+     * @param maxExpansions Límite de expansiones por palabra; 0 para no limitar.
+     * @param cellFrom Primera celda inicial permitida.
+     * @param cellTo Fin exclusivo del rango de celdas iniciales.
+     * @param firstWord Posición en el diccionario de la primera palabra.
+     * @param words Las palabras del fragmento.
+     */
+    public TareaFragmento(int id, char[][] board, String alfabeto, boolean useBfs, long timeoutMillis,
+                          long maxExpansions, int cellFrom, int cellTo, int firstWord, List<String> words) {
+        this.id = id;
+        this.board = board;
+        this.alfabeto = alfabeto;
+        this.useBfs = useBfs;
+        this.timeoutMillis = timeoutMillis;
+        this.maxExpansions = maxExpansions;
+        this.cellFrom = cellFrom;
+        this.cellTo = cellTo;
+        this.firstWord = firstWord;
+        this.words = words;
+        this.intentos = 0;
+    }
+
+    /**
+     * Escribe el fragmento en un flujo.
+     * @param out El flujo de salida.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(id);
+        out.writeInt(board.length);
+        for (char[] row : board) {
+            out.writeUTF(new String(row));
+        }
+        out.writeUTF(alfabeto);
+        out.writeBoolean(useBfs);
+        out.writeLong(timeoutMillis);
+        out.writeLong(maxExpansions);
+        out.writeInt(cellFrom);
+        out.writeInt(cellTo);
+        out.writeInt(firstWord);
+        out.writeInt(words.size());
+        for (String word : words) {
+            out.writeUTF(word);
+        }
+        out.flush();
+    }
+
+    /**
+     * Lee un fragmento de un flujo.
+     * Se rechazan tableros no rectangulares o de más de MAX_CELDAS celdas, más de MAX_PALABRAS
+     * palabras y palabras de más de MAX_LONGITUD_PALABRA letras antes de reservar su memoria.
+     * @param in El flujo de entrada.
+     * @return El fragmento leído.
+     * @throws IOException Si ocurre un error de lectura, el flujo terminó o el fragmento excede los máximos.
+     */
+    public static TareaFragmento readFrom(DataInputStream in) throws IOException {
+        int id = in.readInt();
+        int rows = in.readInt();
+        if (rows < 1 || rows > MAX_CELDAS) {
+            throw new IOException("Número de filas inválido: " + rows);
+        }
+        char[][] board = new char[rows][];
+        for (int r = 0; r < board.length; r++) {
+            board[r] = in.readUTF().toCharArray();
+            if (board[r].length == 0 || board[r].length != board[0].length || (long) rows * board[r].length > MAX_CELDAS) {
+                throw new IOException("Tablero no rectangular o de más de " + MAX_CELDAS + " celdas.");
+            }
+        }
+        String alfabeto = in.readUTF();
+        boolean useBfs = in.readBoolean();
+        long timeoutMillis = in.readLong();
+        long maxExpansions = in.readLong();
+        int cellFrom = in.readInt();
+        int cellTo = in.readInt();
+        int firstWord = in.readInt();
+        int size = in.readInt();
+        if (size < 0 || size > MAX_PALABRAS) {
+            throw new IOException("Número de palabras inválido: " + size);
+        }
+        List<String> words = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String word = in.readUTF();
+            if (word.length() > MAX_LONGITUD_PALABRA) {
+                throw new IOException("Palabra de más de " + MAX_LONGITUD_PALABRA + " letras.");
+            }
+            words.add(word);
+        }
+        return new TareaFragmento(id, board, alfabeto, useBfs, timeoutMillis, maxExpansions,
+                cellFrom, cellTo, firstWord, words);
+    }
+
+    /**
+     * Resuelve el fragmento en este proceso. Las palabras se buscan en paralelo:
+     * el Grafo es inmutable y cada hilo usa su propio buffer de búsqueda.
+     * @return El resultado de cada palabra del fragmento.
+     */
+    public ResultadoFragmento solve() {
+        Grafo grafo = new Grafo(board, new Alfabeto(alfabeto));
+        boolean allCells = cellFrom <= 0 && cellTo >= grafo.getRows() * grafo.getCols();
+        ResultadoFragmento resultado = new ResultadoFragmento(id, words.size());
+        IntStream.range(0, words.size()).parallel().forEach(i -> {
+            LimiteBusqueda limite = new LimiteBusqueda(timeoutMillis, maxExpansions);
+            ResultadoBusqueda busqueda = useBfs && allCells
+                    ? grafo.searchWordBFS(words.get(i), limite)
+                    : grafo.searchWordDFS(words.get(i), cellFrom, cellTo, limite);
+            resultado.set(i, busqueda.getEstado(), grafo.encodePath(busqueda.getPath()));
+        });
+        return resultado;
+    }
+
+    /**
+     * Obtiene el identificador del fragmento.
+     * @return El identificador.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Obtiene la posición en el diccionario de la primera palabra del fragmento.
+     * @return La posición de la primera palabra.
+     */
+    public int getFirstWord() {
+        return firstWord;
+    }
+
+    /**
+     * Obtiene el número de palabras del fragmento.
+     * @return El número de palabras.
+     */
+    public int getWordCount() {
+        return words.size();
+    }
+
+    /**
+     * Obtiene la primera celda inicial permitida.
+     * @return El índice de la celda.
+     */
+    public int getCellFrom() {
+        return cellFrom;
+    }
+
+    /**
+     * Obtiene el límite de tiempo por palabra.
+     * @return El límite en milisegundos; 0 si no hay.
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Obtiene las veces que se ha enviado el fragmento.
+     * @return El número de envíos.
+     */
+    public int getIntentos() {
+        return intentos;
+    }
+
+    /**
+     * Registra un nuevo envío del fragmento.
+     * @return El número de envíos hasta ahora.
+     */
+    public int addIntento() {
+        return ++intentos;
+    }
+}
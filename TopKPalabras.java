@@ -0,0 +1,189 @@
+package com.mycompany.proyecto1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Busca las K palabras del diccionario con mayor puntaje que se pueden formar en el tablero,
+ * con ramificación y poda, sin resolver cada palabra del diccionario por separado.
+ *
+ * Antes de buscar se calcula para cada nodo del trie el mayor puntaje que todavía se puede
+ * sumar desde él (letras siguientes más bono por longitud) en cualquier palabra de su
+ * subárbol. El DFS recorre el tablero siguiendo el trie y guarda las mejores K palabras en
+ * un montículo de mínimos; un camino se abandona en cuanto su puntaje más esa cota no supera
+ * al K-ésimo puntaje actual. Las celdas iniciales se prueban de la más prometedora a la menos,
+ * para que el umbral suba pronto y la poda corte más.
+ */
+public class TopKPalabras {
+
+    private static final int SIN_PALABRA = Integer.MIN_VALUE; // Cota de un subárbol sin palabras
+
+    private final Grafo grafo;
+    private final TrieDiccionario trie;
+    private final Puntuacion puntuacion;
+    private final int[] bestRest;   // Mayor puntaje alcanzable desde cada nodo del trie
+    private final int[] cellCode;   // Código de cada celda en el alfabeto del trie; -1 si no pertenece
+    private final int maxDepth;     // Longitud de la palabra más larga del trie
+
+    // Estado de la búsqueda en curso
+    private PriorityQueue<PalabraPuntuada> heap;
+    private boolean[] reported;     // Nodos terminales cuya palabra ya entró en el montículo
+    private boolean[] visited;
+    private int[] path;
+    private int k;
+    private LimiteBusqueda limite;
+
+    /**
+     * Constructor para el buscador. Toma una instantánea de las cotas del trie: si después se
+     * añaden o eliminan palabras hay que crear otro.
+     * @param grafo El tablero.
+     * @param trie El diccionario.
+     * @param puntuacion Las reglas de puntuación, con el mismo alfabeto que el trie.
+     * @throws IllegalArgumentException Si la puntuación y el trie usan alfabetos distintos.
+     */
+    public TopKPalabras(Grafo grafo, TrieDiccionario trie, Puntuacion puntuacion) {
+        if (!puntuacion.getAlfabeto().toString().equals(trie.getAlfabeto().toString())) {
+            throw new IllegalArgumentException("La puntuación y el diccionario deben usar el mismo alfabeto.");
+        }
+        this.grafo = grafo;
+        this.trie = trie;
+        this.puntuacion = puntuacion;
+
+        // Profundidad de cada nodo: los hijos tienen números mayores que sus padres
+        int nodes = trie.nodeCount();
+        int[] depth = new int[nodes];
+        int deepest = 0;
+        for (int node = 0; node < nodes; node++) {
+            for (int ch = trie.firstChild(node); ch != TrieDiccionario.SIN_NODO; ch = trie.nextSibling(ch)) {
+                depth[ch] = depth[node] + 1;
+            }
+            if (trie.isWord(node)) {
+                deepest = Math.max(deepest, depth[node]);
+            }
+        }
+        this.maxDepth = deepest;
+
+        // Cotas de abajo hacia arriba: cada nodo se procesa después de todos sus hijos
+        this.bestRest = new int[nodes];
+        for (int node = nodes - 1; node >= 0; node--) {
+            int best = trie.isWord(node) ? puntuacion.lengthBonus(depth[node]) : SIN_PALABRA;
+            for (int ch = trie.firstChild(node); ch != TrieDiccionario.SIN_NODO; ch = trie.nextSibling(ch)) {
+                if (bestRest[ch] != SIN_PALABRA) {
+                    best = Math.max(best, puntuacion.letterPoints(trie.letter(ch)) + bestRest[ch]);
+                }
+            }
+            bestRest[node] = best;
+        }
+
+        int cells = grafo.getRows() * grafo.getCols();
+        this.cellCode = new int[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            cellCode[cell] = trie.getAlfabeto().code(grafo.getValue(cell));
+        }
+    }
+
+    /**
+     * Busca las K palabras con mayor puntaje. Si varias palabras empatan con el K-ésimo
+     * puntaje, solo se incluyen las que se encontraron primero.
+     * @param k El número de palabras pedidas.
+     * @param limite El límite de la búsqueda; si se agota, el resultado son las mejores
+     *               palabras encontradas hasta ese momento (ver {@link LimiteBusqueda#isAgotado()}).
+     * @return Las palabras, de mayor a menor puntaje (a igual puntaje, en orden alfabético).
+     */
+    public List<PalabraPuntuada> solve(int k, LimiteBusqueda limite) {
+        if (k <= 0 || bestRest[TrieDiccionario.RAIZ] == SIN_PALABRA) {
+            return new ArrayList<>();
+        }
+        int cells = cellCode.length;
+        this.k = k;
+        this.limite = limite;
+        this.heap = new PriorityQueue<>(k + 1, Comparator.comparingInt(PalabraPuntuada::getScore));
+        this.reported = new boolean[bestRest.length];
+        this.visited = new boolean[cells];
+        this.path = new int[Math.max(1, maxDepth)];
+
+        // Cota de cada celda inicial; se prueban de mayor a menor
+        Integer[] order = new Integer[cells];
+        int[] startBound = new int[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            order[cell] = cell;
+            int node = cellCode[cell] < 0 ? TrieDiccionario.SIN_NODO : trie.child(TrieDiccionario.RAIZ, cellCode[cell]);
+            startBound[cell] = node == TrieDiccionario.SIN_NODO || bestRest[node] == SIN_PALABRA
+                    ? SIN_PALABRA : puntuacion.letterPoints(cellCode[cell]) + bestRest[node];
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(startBound[b], startBound[a]));
+
+        for (int cell : order) {
+            if (startBound[cell] == SIN_PALABRA || !canImprove(startBound[cell]) || limite.isAgotado()) {
+                break; // Las celdas restantes tienen cotas menores o iguales
+            }
+            dfs(cell, TrieDiccionario.RAIZ, 0, 0);
+        }
+
+        List<PalabraPuntuada> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingInt(PalabraPuntuada::getScore).reversed()
+                .thenComparing(PalabraPuntuada::getWord));
+        heap = null; // Liberar el estado de la búsqueda
+        reported = null;
+        return result;
+    }
+
+    // true si una palabra con ese puntaje entraría en el montículo
+    private boolean canImprove(int bound) {
+        return heap.size() < k || bound > heap.peek().getScore();
+    }
+
+    // Extiende el camino con una celda; 'score' es la suma de los puntos de las letras anteriores
+    private void dfs(int cell, int parent, int depth, int score) {
+        int code = cellCode[cell];
+        int node = code < 0 ? TrieDiccionario.SIN_NODO : trie.child(parent, code);
+        if (node == TrieDiccionario.SIN_NODO || bestRest[node] == SIN_PALABRA) {
+            return; // Ninguna palabra del diccionario sigue por aquí
+        }
+        score += puntuacion.letterPoints(code);
+        if (!canImprove(score + bestRest[node])) {
+            return; // Poda: nada en este subárbol supera al K-ésimo puntaje
+        }
+        if (!limite.consume()) {
+            return;
+        }
+        path[depth] = cell;
+
+        if (trie.isWord(node) && !reported[node]) {
+            int total = score + puntuacion.lengthBonus(depth + 1);
+            if (canImprove(total)) {
+                reported[node] = true; // Una palabra vale lo mismo por cualquier camino
+                heap.add(new PalabraPuntuada(currentWord(depth + 1), total, Arrays.copyOf(path, depth + 1)));
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+        }
+
+        if (depth + 1 == maxDepth) {
+            return;
+        }
+        visited[cell] = true;
+        for (int dir = 0; dir < 8; dir++) {
+            int neighbor = grafo.getNeighborCell(cell, dir);
+            if (neighbor >= 0 && !visited[neighbor]) {
+                dfs(neighbor, node, depth + 1, score);
+                if (limite.isAgotado()) {
+                    break;
+                }
+            }
+        }
+        visited[cell] = false; // Retroceder (backtrack)
+    }
+
+    private String currentWord(int length) {
+        char[] letters = new char[length];
+        for (int i = 0; i < length; i++) {
+            letters[i] = grafo.getValue(path[i]);
+        }
+        return new String(letters);
+    }
+}
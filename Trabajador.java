@@ -0,0 +1,123 @@
+package com.mycompany.proyecto1;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * Proceso trabajador para la resolución distribuida del diccionario.
+ * Escucha en un puerto, recibe fragmentos (TareaFragmento) del Coordinador, los resuelve
+ * con todos los núcleos de su máquina y devuelve un ResultadoFragmento por cada uno.
+ * Cada conexión se atiende en su propio hilo y puede enviar varios fragmentos seguidos.
+ *
+ * Uso: java com.mycompany.proyecto1.Trabajador [--puerto 0] [--direccion 127.0.0.1]
+ *
+ * Con el puerto 0 se usa un puerto libre cualquiera. En ambos casos el puerto elegido se
+ * escribe en la salida estándar como "PUERTO n", que es lo que lee el Coordinador al
+ * iniciar trabajadores locales.
+ *
+ * El protocolo no tiene autenticación, así que por defecto solo se escucha en la interfaz
+ * local (loopback). Para recibir fragmentos de un Coordinador en otra máquina hay que
+ * indicar explícitamente la dirección, por ejemplo --direccion 0.0.0.0, y solo en una red
+ * de confianza. Los fragmentos recibidos están acotados en tamaño (ver TareaFragmento).
+ */
+public class Trabajador {
+
+    private final ServerSocket serverSocket;
+
+    /**
+     * Constructor que abre el puerto de escucha solo en la interfaz local.
+     * @param port El puerto; 0 para uno libre cualquiera.
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public Trabajador(int port) throws IOException {
+        this(InetAddress.getLoopbackAddress(), port);
+    }
+
+    /**
+     * Constructor que abre el puerto de escucha en una dirección.
+     * @param address La dirección local donde escuchar; una dirección no local expone el
+     * trabajador a cualquiera que pueda alcanzarla.
+     * @param port El puerto; 0 para uno libre cualquiera.
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public Trabajador(InetAddress address, int port) throws IOException {
+        this.serverSocket = new ServerSocket(port, 50, address);
+    }
+
+    /**
+     * Obtiene el puerto en el que escucha el trabajador.
+     * @return El número de puerto.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Atiende conexiones hasta que se cierre el proceso.
+     * @throws IOException Si falla el puerto de escucha.
+     */
+    public void serve() throws IOException {
+        while (true) {
+            Socket socket = serverSocket.accept();
+            Thread thread = new Thread(() -> handle(socket), "trabajador-" + socket.getRemoteSocketAddress());
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    // Resuelve los fragmentos de una conexión hasta que el coordinador la cierre
+    private void handle(Socket socket) {
+        try (Socket s = socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()))) {
+            while (true) {
+                TareaFragmento tarea;
+                try {
+                    tarea = TareaFragmento.readFrom(in);
+                } catch (EOFException e) {
+                    return; // El coordinador terminó
+                }
+                tarea.solve().writeTo(out);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Al cerrarse la conexión el coordinador reintenta el fragmento en otro trabajador
+            System.err.println("Conexión cerrada por error: " + e);
+        }
+    }
+
+    public static void main(String[] args) {
+        int port = 0;
+        String direccion = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--puerto")) {
+                port = Integer.parseInt(args[i + 1]);
+            } else if (args[i].equals("--direccion")) {
+                direccion = args[i + 1];
+            } else {
+                System.err.println("Opción desconocida: " + args[i]);
+                System.exit(1);
+            }
+        }
+
+        try {
+            InetAddress address = direccion == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName(direccion);
+            if (!address.isLoopbackAddress()) {
+                System.err.println("Aviso: escuchando en " + address.getHostAddress() + " sin autenticación.");
+            }
+            Trabajador trabajador = new Trabajador(address, port);
+            System.out.println("PUERTO " + trabajador.getPort());
+            System.out.flush();
+            trabajador.serve();
+        } catch (IOException e) {
+            System.err.println("Error en el trabajador: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
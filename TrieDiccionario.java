@@ -0,0 +1,217 @@
+package com.mycompany.proyecto1;
+
+import java.util.Arrays;
+
+/**
+ * Trie de las palabras del diccionario, codificadas con un Alfabeto.
+ * Los nodos se guardan en arreglos paralelos de enteros (primer hijo / siguiente hermano)
+ * en lugar de objetos con un arreglo de hijos por nodo, de modo que un diccionario de
+ * millones de palabras ocupa unas pocas decenas de megabytes.
+ */
+public class TrieDiccionario {
+
+    /** Nodo raíz (prefijo vacío). */
+    static final int RAIZ = 0;
+
+    /** Valor de retorno cuando un nodo no tiene el hijo pedido. */
+    static final int SIN_NODO = -1;
+
+    private final Alfabeto alfabeto;
+    private int[] firstChild;    // Primer hijo de cada nodo; SIN_NODO si es hoja
+    private int[] nextSibling;   // Siguiente hermano de cada nodo; SIN_NODO si es el último
+    private byte[] code;         // Código de la letra que lleva a cada nodo
+    private boolean[] terminal;  // true si el camino hasta el nodo forma una palabra
+    private int nodes;           // Número de nodos usados
+    private int words;           // Número de palabras guardadas
+
+    /**
+     * Constructor para un trie vacío.
+     * @param alfabeto El alfabeto de las palabras.
+     */
+    public TrieDiccionario(Alfabeto alfabeto) {
+        this.alfabeto = alfabeto;
+        this.firstChild = new int[64];
+        this.nextSibling = new int[64];
+        this.code = new byte[64];
+        this.terminal = new boolean[64];
+        this.nodes = 0;
+        this.words = 0;
+        newNode((byte) 0); // Raíz
+    }
+
+    private int newNode(byte c) {
+        if (nodes == firstChild.length) {
+            int capacity = nodes * 2;
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            code = Arrays.copyOf(code, capacity);
+            terminal = Arrays.copyOf(terminal, capacity);
+        }
+        firstChild[nodes] = SIN_NODO;
+        nextSibling[nodes] = SIN_NODO;
+        code[nodes] = c;
+        return nodes++;
+    }
+
+    /**
+     * Añade una palabra al trie.
+     * @param word La palabra.
+     * @return true si se añadió, false si ya estaba.
+     * @throws IllegalArgumentException Si la palabra tiene letras fuera del alfabeto.
+     */
+    public boolean add(String word) {
+        byte[] codes = alfabeto.encode(word);
+        if (codes == null) {
+            throw new IllegalArgumentException("La palabra '" + word + "' tiene letras fuera del alfabeto.");
+        }
+        int node = RAIZ;
+        for (byte c : codes) {
+            int next = child(node, c);
+            if (next == SIN_NODO) {
+                next = newNode(c);
+                nextSibling[next] = firstChild[node];
+                firstChild[node] = next;
+            }
+            node = next;
+        }
+        if (terminal[node]) {
+            return false;
+        }
+        terminal[node] = true;
+        words++;
+        return true;
+    }
+
+    /**
+     * Elimina una palabra del trie. Los nodos se conservan; solo deja de marcarse como palabra.
+     * @param word La palabra.
+     * @return true si la palabra estaba y se eliminó.
+     */
+    public boolean remove(String word) {
+        int node = find(word);
+        if (node == SIN_NODO || !terminal[node]) {
+            return false;
+        }
+        terminal[node] = false;
+        words--;
+        return true;
+    }
+
+    /**
+     * Verifica si una palabra está en el trie.
+     * @param word La palabra.
+     * @return true si está.
+     */
+    public boolean contains(String word) {
+        int node = find(word);
+        return node != SIN_NODO && terminal[node];
+    }
+
+    /**
+     * Busca el nodo al que lleva un prefijo.
+     * @param prefix El prefijo.
+     * @return El nodo, o SIN_NODO si ninguna palabra empieza así.
+     */
+    int find(String prefix) {
+        int node = RAIZ;
+        for (int i = 0; i < prefix.length() && node != SIN_NODO; i++) {
+            int c = alfabeto.code(prefix.charAt(i));
+            node = c < 0 ? SIN_NODO : child(node, c);
+        }
+        return node;
+    }
+
+    /**
+     * Obtiene el hijo de un nodo por código de letra.
+     * @param node El nodo.
+     * @param c El código de la letra.
+     * @return El hijo, o SIN_NODO si no existe.
+     */
+    int child(int node, int c) {
+        for (int n = firstChild[node]; n != SIN_NODO; n = nextSibling[n]) {
+            if (code[n] == c) {
+                return n;
+            }
+        }
+        return SIN_NODO;
+    }
+
+    /**
+     * Verifica si el camino hasta un nodo forma una palabra.
+     * @param node El nodo.
+     * @return true si es el final de una palabra.
+     */
+    boolean isWord(int node) {
+        return terminal[node];
+    }
+
+    /**
+     * Obtiene el primer hijo de un nodo, para recorrer el trie completo.
+     * @param node El nodo.
+     * @return El primer hijo, o SIN_NODO si es hoja.
+     */
+    int firstChild(int node) {
+        return firstChild[node];
+    }
+
+    /**
+     * Obtiene el siguiente hermano de un nodo.
+     * @param node El nodo.
+     * @return El siguiente hermano, o SIN_NODO si es el último.
+     */
+    int nextSibling(int node) {
+        return nextSibling[node];
+    }
+
+    /**
+     * Obtiene el código de la letra que lleva a un nodo.
+     * @param node El nodo (distinto de la raíz).
+     * @return El código de la letra.
+     */
+    int letter(int node) {
+        return code[node];
+    }
+
+    /**
+     * Obtiene el número de nodos del trie. Cada hijo tiene un número mayor que su padre,
+     * así que recorrer los nodos de mayor a menor procesa los hijos antes que los padres.
+     * @return El número de nodos, incluida la raíz.
+     */
+    int nodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Calcula la longitud de la palabra más larga del trie.
+     * @return La longitud, o 0 si el trie está vacío.
+     */
+    int maxWordLength() {
+        int[] depth = new int[nodes];
+        int max = 0;
+        for (int node = 0; node < nodes; node++) { // Los padres siempre tienen números menores que sus hijos
+            for (int ch = firstChild[node]; ch != SIN_NODO; ch = nextSibling[ch]) {
+                depth[ch] = depth[node] + 1;
+            }
+            if (terminal[node]) {
+                max = Math.max(max, depth[node]);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Obtiene el alfabeto de las palabras.
+     * @return El alfabeto.
+     */
+    public Alfabeto getAlfabeto() {
+        return alfabeto;
+    }
+
+    /**
+     * Obtiene el número de palabras guardadas.
+     * @return El número de palabras.
+     */
+    public int size() {
+        return words;
+    }
+}